@@ -0,0 +1,66 @@
+package com.examscheduler.backend.benchmark;
+
+import com.examscheduler.backend.security.AuthenticatedUser;
+import com.examscheduler.backend.security.PrincipalCache;
+import com.examscheduler.backend.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// per-request credential check of each authentication path, in operations per second:
+// uncached http basic (bcrypt), http basic served from the principal cache, and a bearer token
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	private BCryptPasswordEncoder encoder;
+	private String hash;
+	private PrincipalCache principalCache;
+	private TokenService tokenService;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder();
+		hash = encoder.encode(PASSWORD);
+		AuthenticatedUser principal = new AuthenticatedUser(1L, "user@example.com", hash,
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+		principalCache = new PrincipalCache(10_000, Duration.ofMinutes(5));
+		principalCache.put(principal, PASSWORD);
+		tokenService = new TokenService(true, "", Duration.ofMinutes(15));
+		token = tokenService.issue(principal);
+	}
+
+	@Benchmark
+	public boolean basicWithBcrypt() {
+		return encoder.matches(PASSWORD, hash);
+	}
+
+	@Benchmark
+	public AuthenticatedUser basicFromPrincipalCache() {
+		return principalCache.lookup("user@example.com", PASSWORD);
+	}
+
+	@Benchmark
+	public AuthenticatedUser bearerToken() {
+		return tokenService.verify(token);
+	}
+}
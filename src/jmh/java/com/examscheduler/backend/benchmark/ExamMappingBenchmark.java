@@ -0,0 +1,73 @@
+package com.examscheduler.backend.benchmark;
+
+import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.service.ExamService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// AddExamRequest -> Exam mapping and bean validation, the per-row cost of add and bulk import
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExamMappingBenchmark {
+
+	private ValidatorFactory validatorFactory;
+	private Validator validator;
+	private AddExamRequest valid;
+	private AddExamRequest invalid;
+	private User owner;
+
+	@Setup
+	public void setUp() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+		valid = new AddExamRequest("Linear Algebra", LocalDate.of(2030, 6, 12), LocalTime.of(9, 30), "Hall A");
+		valid.setDurationMinutes(120);
+		invalid = new AddExamRequest(" ", null, LocalTime.of(9, 30), "");
+		owner = new User();
+		owner.setUsername("owner@example.com");
+	}
+
+	@TearDown
+	public void tearDown() {
+		validatorFactory.close();
+	}
+
+	@Benchmark
+	public Exam mapToEntity() {
+		return ExamService.newExam(valid, owner);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<AddExamRequest>> validateValidRow() {
+		return validator.validate(valid);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<AddExamRequest>> validateInvalidRow() {
+		return validator.validate(invalid);
+	}
+}
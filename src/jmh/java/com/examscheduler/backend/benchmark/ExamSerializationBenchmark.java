@@ -0,0 +1,72 @@
+package com.examscheduler.backend.benchmark;
+
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// jackson cost of exam list responses of growing size, projection vs entity
+// run with -prof gc for the bytes each form allocates per operation, which tracks the response size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExamSerializationBenchmark {
+
+	@Param({"10", "100", "1000", "10000"})
+	public int size;
+
+	private ObjectMapper objectMapper;
+	private List<ExamSummary> summaries;
+	private List<Exam> entities;
+
+	@Setup
+	public void setUp() {
+		// configured like spring boot's auto-configured mapper
+		objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		User owner = new User();
+		owner.setUsername("owner@example.com");
+		summaries = new ArrayList<>(size);
+		entities = new ArrayList<>(size);
+		LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+		for (int i = 0; i < size; i++) {
+			LocalDateTime date = start.plusHours(3L * i);
+			summaries.add(new ExamSummary((long) i, "Subject " + i, date, "Room " + (i % 40), 120));
+			Exam exam = new Exam("Subject " + i, date, "Room " + (i % 40), owner);
+			exam.setId((long) i);
+			exam.setDurationMinutes(120);
+			entities.add(exam);
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeSummaries() throws Exception {
+		return objectMapper.writeValueAsBytes(summaries);
+	}
+
+	@Benchmark
+	public byte[] serializeEntities() throws Exception {
+		return objectMapper.writeValueAsBytes(entities);
+	}
+}
@@ -0,0 +1,130 @@
+package com.examscheduler.backend.benchmark;
+
+import com.examscheduler.backend.BackendApplication;
+import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.dto.ExamPageResponse;
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import com.examscheduler.backend.service.ExamService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ExamService end to end against an in-memory h2 database in postgresql mode
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExamServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Application {
+
+		@Param({"100", "5000"})
+		public int examsPerUser;
+
+		ConfigurableApplicationContext context;
+		ExamService examService;
+		Long userId;
+		Long sampleExamId;
+		final AtomicLong nextSlot = new AtomicLong();
+
+		@Setup(Level.Trial)
+		public void start() {
+			context = new SpringApplicationBuilder(BackendApplication.class)
+					.properties(
+							"server.port=0",
+							"spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+							"spring.jpa.hibernate.ddl-auto=create-drop",
+							"spring.jpa.properties.hibernate.jdbc.batch_size=50",
+							"logging.level.root=WARN")
+					.run();
+			examService = context.getBean(ExamService.class);
+
+			User user = new User();
+			user.setUsername("bench@example.com");
+			user.setPassword("unused");
+			userId = context.getBean(UserRepository.class).save(user).getId();
+
+			List<Exam> exams = new ArrayList<>(examsPerUser);
+			LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0);
+			for (int i = 0; i < examsPerUser; i++) {
+				Exam exam = new Exam("Subject " + i, start.plusHours(2L * i), "Room " + (i % 50), user);
+				exam.setDurationMinutes(90);
+				exams.add(exam);
+			}
+			List<Exam> saved = context.getBean(ExamRepository.class).saveAll(exams);
+			sampleExamId = saved.get(saved.size() / 2).getId();
+			// adds go after the seeded schedule so they never clash with it
+			nextSlot.set(2L * examsPerUser + 2);
+		}
+
+		@TearDown(Level.Trial)
+		public void stop() {
+			context.close();
+		}
+	}
+
+	// security context is thread-local, so each benchmark thread authenticates once
+	@State(Scope.Thread)
+	public static class Caller {
+
+		@Setup(Level.Trial)
+		public void authenticate(Application application) {
+			AuthenticatedUser principal = new AuthenticatedUser(application.userId, "bench@example.com", "unused",
+					AuthorityUtils.createAuthorityList("ROLE_USER"));
+			SecurityContextHolder.getContext().setAuthentication(
+					UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+		}
+	}
+
+	@Benchmark
+	public List<ExamSummary> getAllExams(Application application, Caller caller) {
+		return application.examService.getAllExamsForCurrentUser(false);
+	}
+
+	@Benchmark
+	public ExamPageResponse getFirstPage(Application application, Caller caller) {
+		return application.examService.getExamPage(null, ExamService.DEFAULT_PAGE_SIZE, null, null, null, false);
+	}
+
+	@Benchmark
+	public ExamSummary getExamById(Application application, Caller caller) {
+		return application.examService.getExamById(application.sampleExamId);
+	}
+
+	@Benchmark
+	public void addExam(Application application, Caller caller) {
+		LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0)
+				.plusHours(2 * application.nextSlot.getAndIncrement());
+		AddExamRequest request = new AddExamRequest("Added", start.toLocalDate(), start.toLocalTime(), "Annex");
+		request.setDurationMinutes(60);
+		application.examService.addExam(request);
+	}
+}
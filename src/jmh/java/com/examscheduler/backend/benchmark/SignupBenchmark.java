@@ -0,0 +1,94 @@
+package com.examscheduler.backend.benchmark;
+
+import com.examscheduler.backend.BackendApplication;
+import com.examscheduler.backend.dto.SignupRequest;
+import com.examscheduler.backend.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// signups per second under a burst of 64 concurrent callers, through UserService against h2:
+// bounded hashing pool, one insert per signup and a duplicate answered by the unique constraint
+// with a queue too small for the burst, calls turned away with 503 finish fast and are counted
+// in the throughput; compare with -p queueSize=1000 to see the pool's own ceiling
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(64)
+@Fork(1)
+public class SignupBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Application {
+
+		@Param({"4", "10"})
+		public int strength;
+
+		@Param({"64", "1000"})
+		public int queueSize;
+
+		ConfigurableApplicationContext context;
+		UserService userService;
+		final AtomicLong nextUser = new AtomicLong();
+
+		@Setup(Level.Trial)
+		public void start() {
+			context = new SpringApplicationBuilder(BackendApplication.class)
+					.properties(
+							"server.port=0",
+							"spring.datasource.url=jdbc:h2:mem:signup-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+							"spring.jpa.hibernate.ddl-auto=create-drop",
+							"auth.bcrypt.strength=" + strength,
+							"auth.hashing.queue-size=" + queueSize,
+							"logging.level.root=WARN")
+					.run();
+			userService = context.getBean(UserService.class);
+			userService.registerUser(new SignupRequest("taken@example.com", "correct horse battery staple"));
+		}
+
+		@TearDown(Level.Trial)
+		public void stop() {
+			context.close();
+		}
+	}
+
+	@Benchmark
+	public boolean signup(Application application) {
+		try {
+			application.userService.registerUser(new SignupRequest(
+					"user" + application.nextUser.incrementAndGet() + "@example.com", "correct horse battery staple"));
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	@Benchmark
+	public boolean duplicateSignup(Application application) {
+		try {
+			application.userService.registerUser(new SignupRequest("taken@example.com", "correct horse battery staple"));
+			return true;
+		} catch (ResponseStatusException | RejectedExecutionException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.examscheduler.backend.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+// hibernate second-level cache on an in-process ehcache, a bounded region for user entities plus the
+// query cache for user lookups by name, so authentication and user lookups rarely reach the database
+// exams are left out: every exam read is a jpql projection, which never consults an entity region,
+// and every exam write is a jpql statement, which would only evict one
+// entity writes through hibernate update their region, jpql bulk updates and deletes evict the
+// whole region of the entity they touch, and any write to a table invalidates the cached queries
+// over it; sql issued outside hibernate is not seen and has to evict the region itself
+// hit and miss counts per region are published with the other hibernate statistics
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_USERNAME_REGION = "users-by-username";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${cache.users.max-entries:10000}") long usersMaxEntries,
+                                              @Value("${cache.users.ttl:PT10M}") Duration usersTtl,
+                                              @Value("${cache.queries.max-entries:10000}") long queriesMaxEntries,
+                                              @Value("${cache.queries.ttl:PT10M}") Duration queriesTtl) {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(USERS_REGION, region(usersMaxEntries, usersTtl))
+                .withCache(USERS_BY_USERNAME_REGION, region(queriesMaxEntries, queriesTtl))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queriesMaxEntries, queriesTtl))
+                // one entry per table, must never expire before the query results that depend on it
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(1000)).build())
+                .build();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        // a uri of its own so several application contexts in one jvm (tests) never share regions
+        return provider.getCacheManager(URI.create("urn:examscheduler:hibernate:" + UUID.randomUUID()),
+                configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // every region is declared above, a missing one is a mistake rather than something to create
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.examscheduler.backend.config;
+
+import com.examscheduler.backend.reminder.ReminderScheduler;
+import com.examscheduler.backend.security.AdmissionControl;
+import com.examscheduler.backend.security.PasswordHasher;
+import com.examscheduler.backend.security.PrincipalCache;
+import com.examscheduler.backend.service.ExamEventHub;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// application meters on top of what actuator already records:
+// http.server.requests (every controller endpoint), spring.data.repository.invocations (every
+// repository call), hikaricp.* (pool usage and pending threads) and hibernate.* (statements,
+// entity loads, second-level cache) when hibernate statistics are switched on
+@Configuration
+public class MetricsConfig {
+
+    // makes @Timed work on service beans, not only on controllers
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // hit ratio and size of the verified-credential cache
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+        return registry -> {
+            FunctionCounter.builder("auth.cache.requests", principalCache, PrincipalCache::getHits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("auth.cache.requests", principalCache, PrincipalCache::getMisses)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("auth.cache.evictions", principalCache, PrincipalCache::getEvictions)
+                    .register(registry);
+            Gauge.builder("auth.cache.size", principalCache, PrincipalCache::size)
+                    .register(registry);
+        };
+    }
+
+    // signup password hashing pool: queued and running hashes, and signups turned away when full
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            Gauge.builder("auth.hashing.queued", passwordHasher, PasswordHasher::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("auth.hashing.active", passwordHasher, PasswordHasher::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", passwordHasher, PasswordHasher::getRejectedCount)
+                    .register(registry);
+        };
+    }
+
+    // requests let through and turned away with 429, by the limit that turned them away
+    @Bean
+    public MeterBinder admissionControlMetrics(AdmissionControl admissionControl) {
+        return registry -> {
+            FunctionCounter.builder("http.admission.admitted", admissionControl, AdmissionControl::getAdmittedCount)
+                    .register(registry);
+            FunctionCounter.builder("http.admission.rejected", admissionControl, AdmissionControl::getRejectedPerUserCount)
+                    .tag("scope", "user")
+                    .register(registry);
+            FunctionCounter.builder("http.admission.rejected", admissionControl, AdmissionControl::getRejectedGlobalCount)
+                    .tag("scope", "global")
+                    .register(registry);
+            FunctionCounter.builder("http.admission.rejected", admissionControl,
+                            AdmissionControl::getRejectedAuthFailuresCount)
+                    .tag("scope", "auth-failures")
+                    .register(registry);
+            Gauge.builder("http.admission.tracked-clients", admissionControl, AdmissionControl::getTrackedClients)
+                    .register(registry);
+        };
+    }
+
+    // open server-sent event streams and streams closed for falling behind
+    @Bean
+    public MeterBinder examStreamMetrics(ExamEventHub eventHub) {
+        return registry -> {
+            Gauge.builder("exams.stream.connections", eventHub, ExamEventHub::getConnectionCount)
+                    .register(registry);
+            FunctionCounter.builder("exams.stream.dropped", eventHub, ExamEventHub::getDroppedCount)
+                    .register(registry);
+        };
+    }
+
+    // reminders waiting in the timing wheel and reminders handed to the sender
+    @Bean
+    public MeterBinder reminderMetrics(ReminderScheduler reminderScheduler) {
+        return registry -> {
+            Gauge.builder("reminders.pending", reminderScheduler, ReminderScheduler::getPendingCount)
+                    .register(registry);
+            FunctionCounter.builder("reminders.sent", reminderScheduler, ReminderScheduler::getSentCount)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.examscheduler.backend.config;
+
+import com.examscheduler.backend.service.ExamChangedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// users who changed their exams within the last window, their reads stay on the primary so a
+// lagging replica never shows them their own write undone
+// marked when the change is published, which is before the commit for transactional writes, so
+// there is no gap between the commit and the window opening; the window only covers this instance
+public class ReadYourWritesWindow {
+
+    // expired entries are swept once the map grows past this many users
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesWindow(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @EventListener
+    public void onExamChanged(ExamChangedEvent event) {
+        markWrite(event.userId());
+    }
+
+    public void markWrite(Long userId) {
+        long now = System.nanoTime();
+        stickyUntil.put(userId, now + windowNanos);
+        if (stickyUntil.size() > SWEEP_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until - now < 0);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() < 0) {
+            stickyUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.examscheduler.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// read replicas, switched on by listing their jdbc urls in datasource.replica.urls
+// spring.datasource.* stays the primary; every pool, primary and replicas alike, takes the
+// spring.datasource.hikari.* settings and reports as hikaricp metrics under its own pool name
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(@Value("${datasource.replica.sticky-window:PT5S}") Duration window) {
+        return new ReadYourWritesWindow(window);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry, ReadYourWritesWindow readYourWrites,
+                                 @Value("${datasource.replica.urls}") List<String> replicaUrls,
+                                 @Value("${datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${datasource.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        HikariDataSource primary = pool(binder, registry, "primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool(binder, registry, "replica-" + (i + 1), replicaUrls.get(i), replicaUsername, replicaPassword));
+        }
+        return new ClosingLazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas, readYourWrites),
+                primary, replicas);
+    }
+
+    private static HikariDataSource pool(Binder binder, MeterRegistry registry, String name, String url,
+                                         String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        if (registry != null) {
+            dataSource.setMetricRegistry(registry);
+        }
+        return dataSource;
+    }
+
+    // closes the pools behind the routing data source when the context shuts down
+    static class ClosingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final List<DataSource> pools = new ArrayList<>();
+
+        ClosingLazyConnectionDataSourceProxy(DataSource routing, DataSource primary, List<DataSource> replicas) {
+            // the proxy reads connection defaults once, outside a transaction that lands on the primary
+            super(routing);
+            pools.add(primary);
+            pools.addAll(replicas);
+        }
+
+        @Override
+        public void close() {
+            for (DataSource pool : pools) {
+                ((HikariDataSource) pool).close();
+            }
+        }
+    }
+}
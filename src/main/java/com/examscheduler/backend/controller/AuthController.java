@@ -1,14 +1,26 @@
 package com.examscheduler.backend.controller;
 
+import com.examscheduler.backend.dto.LoginRequest;
 import com.examscheduler.backend.dto.SignupRequest;
+import com.examscheduler.backend.dto.TokenResponse;
 import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.security.AdmissionControl;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import com.examscheduler.backend.security.TokenService;
 import com.examscheduler.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
 import java.util.List;
@@ -18,10 +30,17 @@ import java.util.List;
 public class AuthController {
 
     public final UserService userService;
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+    private final AdmissionControl admissionControl;
 
     @Autowired
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, AuthenticationManager authenticationManager,
+                          TokenService tokenService, AdmissionControl admissionControl) {
         this.userService = userService;
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+        this.admissionControl = admissionControl;
     }
 
     @PostMapping("/signup")
@@ -32,5 +51,37 @@ public class AuthController {
 
     }
 
+    // verifies the password once and exchanges it for a short-lived signed bearer token
+    // failed attempts are throttled per username and client address, like http basic ones
+    @PostMapping("/login")
+    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        if (!tokenService.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Token authentication is disabled");
+        }
 
+        String username = loginRequest.getUsername() == null ? "" : loginRequest.getUsername();
+        String address = request.getRemoteAddr();
+        if (admissionControl.isEnabled()) {
+            long retryAfterSeconds = admissionControl.admitAuthentication(address, username);
+            if (retryAfterSeconds > 0) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many failed logins, retry in " + retryAfterSeconds + " seconds");
+            }
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(UsernamePasswordAuthenticationToken
+                    .unauthenticated(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (AuthenticationException e) {
+            if (admissionControl.isEnabled()) {
+                admissionControl.recordAuthenticationFailure(address, username);
+            }
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
+        }
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        String token = tokenService.issue(principal);
+        return ResponseEntity.ok(new TokenResponse(token, tokenService.getTtl().toSeconds()));
+    }
 }
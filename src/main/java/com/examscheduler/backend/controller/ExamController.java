@@ -1,15 +1,38 @@
 package com.examscheduler.backend.controller;
 
 import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.dto.BulkExamRequest;
+import com.examscheduler.backend.dto.BulkImportResponse;
+import com.examscheduler.backend.dto.BulkUpdateResponse;
+import com.examscheduler.backend.dto.ConflictCheckRequest;
+import com.examscheduler.backend.dto.ConflictResponse;
+import com.examscheduler.backend.dto.ExamPageResponse;
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.dto.TimetableRequest;
+import com.examscheduler.backend.dto.TimetableResponse;
 import com.examscheduler.backend.dto.UpdateExamRequest;
-import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.exception.BadRequestException;
 import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.security.CurrentUserResolver;
+import com.examscheduler.backend.service.ExamEventHub;
+import com.examscheduler.backend.service.ExamImportService;
+import com.examscheduler.backend.service.ExamSearchService;
 import com.examscheduler.backend.service.ExamService;
+import com.examscheduler.backend.service.ExamVersionTracker;
+import com.examscheduler.backend.service.TimetableService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,11 +40,24 @@ import java.util.List;
 public class ExamController {
 
     private final ExamService examService;
+    private final ExamImportService examImportService;
+    private final TimetableService timetableService;
+    private final ExamEventHub examEventHub;
+    private final CurrentUserResolver currentUserResolver;
     private final ExamRepository examRepository;
+    private final ExamSearchService examSearchService;
 
-    public ExamController(ExamService examService, ExamRepository examRepository) {
+    public ExamController(ExamService examService, ExamImportService examImportService,
+                          TimetableService timetableService, ExamEventHub examEventHub,
+                          CurrentUserResolver currentUserResolver, ExamRepository examRepository,
+                          ExamSearchService examSearchService) {
         this.examService = examService;
+        this.examImportService = examImportService;
+        this.timetableService = timetableService;
+        this.examEventHub = examEventHub;
+        this.currentUserResolver = currentUserResolver;
         this.examRepository = examRepository;
+        this.examSearchService = examSearchService;
     }
 
     @PostMapping("/add")
@@ -30,11 +66,125 @@ public class ExamController {
         return ResponseEntity.ok("Exam added successfully");
     }
 
+    // reports which of the user's exams and which bookings of the location a prospective slot overlaps
+    @PostMapping("/conflicts")
+    public ResponseEntity<ConflictResponse> checkConflicts(@Valid @RequestBody ConflictCheckRequest request) {
+        return ResponseEntity.ok(examService.checkConflicts(request.getExamDate(), request.getDurationMinutes(),
+                request.getLocation(), request.getExcludeId()));
+    }
+
+    // imports a whole timetable at once, valid rows are stored and invalid ones reported by row number
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponse> importExams(@RequestBody List<AddExamRequest> rows) {
+        return ResponseEntity.ok(examImportService.importExams(rows));
+    }
+
+    // same as above for a csv upload with a subject,examDate,examTime,location[,durationMinutes] header
+    @PostMapping(path = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResponse> importExamsCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(examImportService.importExamsCsv(csv));
+    }
+
+    // set-based changes to every exam of the user in a day range, optionally narrowed by subject and location
+    // each is a single owner-scoped statement and answers how many exams it touched
+    @PostMapping("/bulk/reschedule")
+    public ResponseEntity<BulkUpdateResponse> rescheduleExams(@Valid @RequestBody BulkExamRequest request) {
+        return ResponseEntity.ok(examService.rescheduleExams(request));
+    }
+
+    @PostMapping("/bulk/relocate")
+    public ResponseEntity<BulkUpdateResponse> relocateExams(@Valid @RequestBody BulkExamRequest request) {
+        return ResponseEntity.ok(examService.relocateExams(request));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkUpdateResponse> deleteExams(@Valid @RequestBody BulkExamRequest request) {
+        return ResponseEntity.ok(examService.deleteExams(request));
+    }
+
+    // places a batch of exams into rooms and start times without clashes, optionally saving the result
+    @PostMapping("/timetable")
+    public ResponseEntity<TimetableResponse> solveTimetable(@Valid @RequestBody TimetableRequest request) {
+        return ResponseEntity.ok(timetableService.solve(request));
+    }
+
+    // with exam partitioning on, exams from the start of the current term on unless includePast=true
     @GetMapping("/all")
-    public ResponseEntity<List<Exam>> getAllExams() {
-        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();      // username validation
-        List<Exam> exams = examService.getAllExamsForCurrentUser();// goes through the list of exams for the user and returns them
-        return ResponseEntity.ok(exams);
+    public ResponseEntity<List<ExamSummary>> getAllExams(@RequestParam(defaultValue = "false") boolean includePast,
+                                                         WebRequest request) {
+        // unchanged since the client's copy: answer 304 before touching the exams table
+        ExamVersionTracker.Stamp version = examService.currentVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        List<ExamSummary> exams = examService.getAllExamsForCurrentUser(includePast);// goes through the list of exams for the user and returns them
+        return cacheable(version).body(exams);
+    }
+
+    // keyset paginated listing, pass the returned nextCursor back to fetch the following page
+    @GetMapping("/page")
+    public ResponseEntity<ExamPageResponse> getExamPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ExamService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String subject,
+            @RequestParam(defaultValue = "false") boolean includePast,
+            WebRequest request
+    ) {
+        ExamVersionTracker.Stamp version = examService.currentVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return cacheable(version).body(examService.getExamPage(cursor, limit, from, to, subject, includePast));
+    }
+
+    // the user's next exams in date order, for the dashboard
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<ExamSummary>> getUpcomingExams(
+            @RequestParam(defaultValue = "" + ExamService.DEFAULT_UPCOMING_LIMIT) int limit) {
+        return ResponseEntity.ok(examService.getUpcomingExams(limit));
+    }
+
+    // the user's next exam, 204 when nothing is coming up
+    @GetMapping("/next")
+    public ResponseEntity<ExamSummary> getNextExam() {
+        return examService.getNextExam()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // ranked prefix, substring and typo-tolerant matches on subject and location
+    @GetMapping("/search")
+    public ResponseEntity<List<ExamSummary>> searchExams(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + ExamSearchService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(examSearchService.search(q, limit));
+    }
+
+    // server-sent events for every committed change to the user's exams, replaces polling /all
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExamChanges() {
+        return examEventHub.subscribe(currentUserResolver.currentUserId());
+    }
+
+    // streams every exam of the user as ndjson (default) or icalendar without buffering the whole list
+    @GetMapping("/export")
+    public void exportExams(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        switch (format) {
+            case "ndjson" -> {
+                response.setContentType("application/x-ndjson");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exams.ndjson\"");
+                examService.exportExamsAsNdjson(response.getOutputStream());
+            }
+            case "ics" -> {
+                response.setContentType("text/calendar;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exams.ics\"");
+                examService.exportExamsAsIcs(response.getOutputStream());
+            }
+            default -> throw new BadRequestException("Unsupported export format: " + format);
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -44,10 +194,13 @@ public class ExamController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Exam> getExamById(@PathVariable Long id) {
-        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
-        Exam exam = examService.getExamById(id);
-        return ResponseEntity.ok(exam);
+    public ResponseEntity<ExamSummary> getExamById(@PathVariable Long id, WebRequest request) {
+        ExamVersionTracker.Stamp version = examService.currentVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        ExamSummary exam = examService.getExamById(id);
+        return cacheable(version).body(exam);
     }
 
     @PutMapping("/{id}")
@@ -59,7 +212,12 @@ public class ExamController {
         return ResponseEntity.ok("Exam updated successfully");
     }
 
-
-
+    // validators of the user's exam list: the etag changes with every committed write
+    // private no-cache lets browsers keep a copy but always revalidate it
+    private static ResponseEntity.BodyBuilder cacheable(ExamVersionTracker.Stamp version) {
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache().cachePrivate());
     }
-
+}
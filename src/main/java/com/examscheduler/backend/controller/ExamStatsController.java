@@ -0,0 +1,34 @@
+package com.examscheduler.backend.controller;
+
+import com.examscheduler.backend.dto.ExamLoadResponse;
+import com.examscheduler.backend.service.ExamStatsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+// admin-only aggregates over every user's exams, restricted to ROLE_ADMIN in SecurityConfig
+@RestController
+@RequestMapping(path = "api/admin/exams")
+public class ExamStatsController {
+
+    private final ExamStatsService examStatsService;
+
+    public ExamStatsController(ExamStatsService examStatsService) {
+        this.examStatsService = examStatsService;
+    }
+
+    // exam counts and total minutes per day, iso week or location for the inclusive date range
+    @GetMapping("/load")
+    public ResponseEntity<ExamLoadResponse> getExamLoad(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy
+    ) {
+        return ResponseEntity.ok(examStatsService.examLoad(from, to, groupBy));
+    }
+}
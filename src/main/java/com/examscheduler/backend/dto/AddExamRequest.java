@@ -1,7 +1,9 @@
 package com.examscheduler.backend.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -21,6 +23,10 @@ public class AddExamRequest {
     @NotBlank(message = "Location cannot be left blank")
     private String location;
 
+    @Positive(message = "Duration must be positive")
+    @Max(value = 1440, message = "Duration cannot exceed 24 hours")
+    private Integer durationMinutes;  // optional, defaults to one hour
+
     public AddExamRequest() {
     }
 
@@ -62,7 +68,12 @@ public class AddExamRequest {
     public void setLocation(String location) {
         this.location = location;
     }
-}
-
 
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
 
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.examscheduler.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+// dto class for a bulk change to every exam of the user matching a filter
+// the day range is required and inclusive on both days, subject (a case-insensitive prefix) and
+// location (case and surrounding whitespace ignored) narrow it further when present
+public class BulkExamRequest {
+
+    @NotNull(message = "Start day is required")
+    private LocalDate from;
+
+    @NotNull(message = "End day is required")
+    private LocalDate to;
+
+    private String subject;  // optional filter
+
+    private String location;  // optional filter
+
+    private Long offsetMinutes;  // reschedule only: how far to move the matched exams, negative moves them earlier
+
+    private String newLocation;  // relocate only: where the matched exams take place from now on
+
+    public BulkExamRequest() {
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Long getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    public void setOffsetMinutes(Long offsetMinutes) {
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    public String getNewLocation() {
+        return newLocation;
+    }
+
+    public void setNewLocation(String newLocation) {
+        this.newLocation = newLocation;
+    }
+}
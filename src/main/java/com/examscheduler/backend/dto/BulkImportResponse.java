@@ -0,0 +1,43 @@
+package com.examscheduler.backend.dto;
+
+import java.util.List;
+
+// dto class for the outcome of a bulk import: how many rows were stored and why the others were rejected
+public class BulkImportResponse {
+
+    private final int imported;
+    private final List<RowError> errors;
+
+    public BulkImportResponse(int imported, List<RowError> errors) {
+        this.imported = imported;
+        this.errors = errors;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    // validation messages for one rejected row, rows are numbered from 1 in upload order
+    public static class RowError {
+
+        private final int row;
+        private final List<String> messages;
+
+        public RowError(int row, List<String> messages) {
+            this.row = row;
+            this.messages = messages;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+    }
+}
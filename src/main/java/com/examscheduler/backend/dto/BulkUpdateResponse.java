@@ -0,0 +1,15 @@
+package com.examscheduler.backend.dto;
+
+// dto class for the outcome of a bulk reschedule, relocate or delete: how many exams it touched
+public class BulkUpdateResponse {
+
+    private final int affected;
+
+    public BulkUpdateResponse(int affected) {
+        this.affected = affected;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+}
@@ -0,0 +1,57 @@
+package com.examscheduler.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+// dto class for asking which exams a prospective time slot and location would clash with
+public class ConflictCheckRequest {
+
+    @NotNull(message = "Exam date is required")
+    private LocalDateTime examDate;
+
+    @Positive(message = "Duration must be positive")
+    @Max(value = 1440, message = "Duration cannot exceed 24 hours")
+    private Integer durationMinutes;  // optional, defaults to one hour
+
+    private String location;  // optional, location clashes are only checked when present
+
+    private Long excludeId;  // optional, the exam being edited so it does not clash with itself
+
+    public ConflictCheckRequest() {
+    }
+
+    public LocalDateTime getExamDate() {
+        return examDate;
+    }
+
+    public void setExamDate(LocalDateTime examDate) {
+        this.examDate = examDate;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Long getExcludeId() {
+        return excludeId;
+    }
+
+    public void setExcludeId(Long excludeId) {
+        this.excludeId = excludeId;
+    }
+}
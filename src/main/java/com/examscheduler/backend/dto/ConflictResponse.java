@@ -0,0 +1,32 @@
+package com.examscheduler.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// dto class listing the user's own overlapping exams and any bookings of the same location
+public class ConflictResponse {
+
+    private final List<ConflictingExam> userConflicts;
+    private final List<ConflictingExam> locationConflicts;
+
+    public ConflictResponse(List<ConflictingExam> userConflicts, List<ConflictingExam> locationConflicts) {
+        this.userConflicts = userConflicts;
+        this.locationConflicts = locationConflicts;
+    }
+
+    public List<ConflictingExam> getUserConflicts() {
+        return userConflicts;
+    }
+
+    public List<ConflictingExam> getLocationConflicts() {
+        return locationConflicts;
+    }
+
+    public boolean isConflicting() {
+        return !userConflicts.isEmpty() || !locationConflicts.isEmpty();
+    }
+
+    // id and subject are only filled in for the caller's own exams
+    public record ConflictingExam(Long id, String subject, LocalDateTime start, LocalDateTime end, String location) {
+    }
+}
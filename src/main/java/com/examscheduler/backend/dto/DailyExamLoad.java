@@ -0,0 +1,7 @@
+package com.examscheduler.backend.dto;
+
+import java.time.LocalDate;
+
+// one row of the per-day group by, produced by a jpql constructor expression
+public record DailyExamLoad(LocalDate day, Long exams, Long totalMinutes) {
+}
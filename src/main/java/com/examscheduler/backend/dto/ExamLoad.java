@@ -0,0 +1,6 @@
+package com.examscheduler.backend.dto;
+
+// number of exams and their summed length in one aggregation bucket
+// key is an iso date (2030-01-14), an iso week (2030-W03) or a normalized location
+public record ExamLoad(String key, Long exams, Long totalMinutes) {
+}
@@ -0,0 +1,36 @@
+package com.examscheduler.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// exam counts across all users over [from, to], grouped by day, week or location
+public class ExamLoadResponse {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String groupBy;
+    private final List<ExamLoad> buckets;
+
+    public ExamLoadResponse(LocalDate from, LocalDate to, String groupBy, List<ExamLoad> buckets) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.buckets = buckets;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public List<ExamLoad> getBuckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,23 @@
+package com.examscheduler.backend.dto;
+
+import java.util.List;
+
+// dto class for one page of exams plus the cursor to fetch the next page (null on the last page)
+public class ExamPageResponse {
+
+    private final List<ExamSummary> items;
+    private final String nextCursor;
+
+    public ExamPageResponse(List<ExamSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ExamSummary> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
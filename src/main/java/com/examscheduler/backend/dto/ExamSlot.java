@@ -0,0 +1,19 @@
+package com.examscheduler.backend.dto;
+
+import com.examscheduler.backend.entity.Exam;
+
+import java.time.LocalDateTime;
+
+// the time interval an exam occupies, [start, end), along with who owns it and where it is held
+public record ExamSlot(Long id, Long userId, String subject, LocalDateTime start, LocalDateTime end, String location) {
+
+    // used by jpql constructor expressions, a missing duration falls back to the default length
+    public ExamSlot(Long id, Long userId, String subject, LocalDateTime start, Integer durationMinutes, String location) {
+        this(id, userId, subject, start, start.plusMinutes(durationMinutes != null
+                ? durationMinutes : Exam.DEFAULT_DURATION_MINUTES), location);
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
@@ -0,0 +1,7 @@
+package com.examscheduler.backend.dto;
+
+import java.time.LocalDateTime;
+
+// flat read-only view of an exam, selected column by column so no user row is ever loaded
+public record ExamSummary(Long id, String subject, LocalDateTime examDate, String location, Integer durationMinutes) {
+}
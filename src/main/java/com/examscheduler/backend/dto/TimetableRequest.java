@@ -0,0 +1,77 @@
+package com.examscheduler.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// dto class for a batch of unscheduled exams to place into rooms and candidate start times
+public class TimetableRequest {
+
+    @NotEmpty(message = "At least one exam is required")
+    private List<@Valid @NotNull UnscheduledExam> exams;
+
+    @NotEmpty(message = "At least one room is required")
+    private List<@Valid @NotNull Room> rooms;
+
+    @NotEmpty(message = "At least one slot is required")
+    private List<@NotNull LocalDateTime> slots;
+
+    private boolean save;  // when true the solved timetable is stored as the user's exams
+
+    public TimetableRequest() {
+    }
+
+    public List<UnscheduledExam> getExams() {
+        return exams;
+    }
+
+    public void setExams(List<UnscheduledExam> exams) {
+        this.exams = exams;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<Room> rooms) {
+        this.rooms = rooms;
+    }
+
+    public List<LocalDateTime> getSlots() {
+        return slots;
+    }
+
+    public void setSlots(List<LocalDateTime> slots) {
+        this.slots = slots;
+    }
+
+    public boolean isSave() {
+        return save;
+    }
+
+    public void setSave(boolean save) {
+        this.save = save;
+    }
+
+    // exams sharing a cohort (a class, a student group) must never overlap
+    public record UnscheduledExam(
+            @NotBlank(message = "Subject cannot be blank") String subject,
+            @NotNull(message = "Duration is required")
+            @Positive(message = "Duration must be positive")
+            @Max(value = 1440, message = "Duration cannot exceed 24 hours") Integer durationMinutes,
+            @PositiveOrZero(message = "Headcount cannot be negative") int headcount,
+            List<String> cohorts) {
+    }
+
+    public record Room(
+            @NotBlank(message = "Location cannot be left blank") String location,
+            @Positive(message = "Capacity must be positive") int capacity) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.examscheduler.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// dto class for a solved timetable, how good it is and how long solving took
+public class TimetableResponse {
+
+    private final List<Assignment> assignments;
+    private final List<Integer> unplaced;  // indexes into the request's exam list
+    private final long wastedSeats;
+    private final int restarts;
+    private final long solveMillis;
+    private final BulkImportResponse saved;  // null unless the request asked to save
+
+    public TimetableResponse(List<Assignment> assignments, List<Integer> unplaced, long wastedSeats,
+                             int restarts, long solveMillis, BulkImportResponse saved) {
+        this.assignments = assignments;
+        this.unplaced = unplaced;
+        this.wastedSeats = wastedSeats;
+        this.restarts = restarts;
+        this.solveMillis = solveMillis;
+        this.saved = saved;
+    }
+
+    public List<Assignment> getAssignments() {
+        return assignments;
+    }
+
+    public List<Integer> getUnplaced() {
+        return unplaced;
+    }
+
+    public long getWastedSeats() {
+        return wastedSeats;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public long getSolveMillis() {
+        return solveMillis;
+    }
+
+    public BulkImportResponse getSaved() {
+        return saved;
+    }
+
+    public record Assignment(int exam, String subject, String location, LocalDateTime start, LocalDateTime end) {
+    }
+}
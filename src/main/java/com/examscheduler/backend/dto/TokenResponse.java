@@ -0,0 +1,26 @@
+package com.examscheduler.backend.dto;
+
+// dto class for a freshly issued bearer token and its lifetime in seconds
+public class TokenResponse {
+
+    private final String token;
+    private final String tokenType = "Bearer";
+    private final long expiresIn;
+
+    public TokenResponse(String token, long expiresIn) {
+        this.token = token;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+}
@@ -2,8 +2,10 @@ package com.examscheduler.backend.dto;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.time.LocalDateTime;
 
@@ -22,6 +24,10 @@ public class UpdateExamRequest {
     @NotBlank(message = "Location cannot be left blank")
     private String location;
 
+    @Positive(message = "Duration must be positive")
+    @Max(value = 1440, message = "Duration cannot exceed 24 hours")
+    private Integer durationMinutes;  // optional, defaults to one hour
+
     public UpdateExamRequest() {
     }
 
@@ -55,4 +61,12 @@ public class UpdateExamRequest {
     public void setLocation(String location) {
         this.location = location;
     }
-}
\ No newline at end of file
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+}
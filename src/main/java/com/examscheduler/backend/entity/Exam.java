@@ -1,15 +1,30 @@
 package com.examscheduler.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
 
+// not in the second-level cache: exams are only ever read through projections, and updates and
+// deletes are jpql statements that would evict the whole region, see HibernateCacheConfig
 @Entity
-@Table(name = "exams")
+@Table(name = "exams",
+        indexes = {
+                // backs the keyset paginated listing ordered by exam date then id
+                @Index(name = "idx_exams_user_date_id", columnList = "user_id, exam_date, id"),
+                // backs the reminder scheduler's range read of every exam starting in its horizon
+                @Index(name = "idx_exams_date", columnList = "exam_date")
+        }
+)
 public class Exam {
 
+    // length assumed for exams stored before durations were recorded
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+
+    // pooled sequence rather than identity so hibernate can batch inserts (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exams_seq")
+    @SequenceGenerator(name = "exams_seq", sequenceName = "exams_seq", allocationSize = 50)
     private Long Id;
 
 
@@ -17,11 +32,15 @@ public class Exam {
     private String subject;
     private LocalDateTime examDate;
     private String location;
+    private Integer durationMinutes;  // null for exams stored before durations existed
 
+    @Version
+    private Long version;  // null for exams stored before versioning, bulk updates treat that as 0
 
-    @ManyToOne
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
-    User user;  // maps the user_id column in the database to user
+    User user;  // maps the user_id column in the database to user, loaded only when navigated
 
 
 
@@ -76,4 +95,16 @@ public class Exam {
     public void setLocation(String location) {
         this.location = location;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
 }
@@ -0,0 +1,46 @@
+package com.examscheduler.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+// version of one user's exam list, bumped in the same transaction as every change to the user's exams
+// kept in its own small table rather than on users, so exam writes never touch the cached user rows
+@Entity
+@Table(name = "exam_list_versions")
+public class ExamListVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Instant modifiedAt;
+
+    protected ExamListVersion() {
+    }
+
+    public ExamListVersion(Long userId, long version, Instant modifiedAt) {
+        this.userId = userId;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+}
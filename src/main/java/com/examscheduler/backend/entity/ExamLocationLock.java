@@ -0,0 +1,26 @@
+package com.examscheduler.backend.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// one row per stripe of locations, created up front (see ExamBookingLocks); holds no data, writers
+// lock the row of a location's stripe so bookings of one location are checked and stored one at a time
+@Entity
+@Table(name = "exam_location_lock_stripes")
+public class ExamLocationLock {
+
+    @Id
+    private Integer stripe;
+
+    protected ExamLocationLock() {
+    }
+
+    public ExamLocationLock(Integer stripe) {
+        this.stripe = stripe;
+    }
+
+    public Integer getStripe() {
+        return stripe;
+    }
+}
@@ -0,0 +1,71 @@
+package com.examscheduler.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// marks the reminder for one exam start as sent; every instance schedules every reminder, and the
+// one whose insert of this row succeeds is the one that sends it (see ReminderScheduler)
+// keyed on the start too, so an exam moved after its reminder went out is announced again
+@Entity
+@IdClass(SentReminder.Key.class)
+@Table(name = "exam_reminders_sent")
+public class SentReminder {
+
+    @Id
+    @Column(name = "exam_id")
+    private Long examId;
+
+    @Id
+    @Column(name = "exam_date")
+    private LocalDateTime examDate;
+
+    @Column(nullable = false)
+    private Instant sentAt;
+
+    protected SentReminder() {
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public LocalDateTime getExamDate() {
+        return examDate;
+    }
+
+    public Instant getSentAt() {
+        return sentAt;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long examId;
+        private LocalDateTime examDate;
+
+        protected Key() {
+        }
+
+        public Key(Long examId, LocalDateTime examDate) {
+            this.examId = examId;
+            this.examDate = examDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(examId, key.examId) && Objects.equals(examDate, key.examDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(examId, examDate);
+        }
+    }
+}
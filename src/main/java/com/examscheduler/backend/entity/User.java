@@ -1,11 +1,16 @@
 package com.examscheduler.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")  // second-level cache, see HibernateCacheConfig
 @Table(name = "users",
         uniqueConstraints = @UniqueConstraint(columnNames = {"username"})
 )
@@ -18,8 +23,15 @@ public class User {
     @Column(nullable = false, unique = true)
     private String username;
 
+    @JsonIgnore
     private String password;
 
+    // granted in the database only, see RoleResolver; null for users stored before roles existed
+    @JsonIgnore
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Role role;
+
     @OneToMany(mappedBy = "user")
     List <Exam> exams = new ArrayList<>();
 
@@ -36,6 +48,10 @@ public class User {
 
 
 
+    public Long getId() {
+        return Id;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -51,4 +67,16 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public enum Role {
+        USER, ADMIN
+    }
 }
@@ -0,0 +1,43 @@
+package com.examscheduler.backend.reminder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+// appends one tab-separated line per reminder to a local file, a stand-in for mail or push
+// delivery in tests and local runs
+// appends are serialized with a ReentrantLock rather than synchronized, so a virtual thread blocked
+// on the file or waiting for the lock releases its carrier thread
+@Component
+@ConditionalOnProperty(name = "reminders.sender", havingValue = "file")
+public class FileReminderSender implements ReminderSender {
+
+    private final Path file;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileReminderSender(@Value("${reminders.file:reminders.log}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void send(Reminder reminder) {
+        String line = reminder.examId() + "\t" + reminder.userId() + "\t" + reminder.examDate() + "\t"
+                + reminder.subject() + "\t" + reminder.location() + "\n";
+        lock.lock();
+        try {
+            Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.examscheduler.backend.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// default sender, writes each reminder to the application log
+@Component
+@ConditionalOnProperty(name = "reminders.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(Reminder reminder) {
+        log.info("Reminder for user {}: {} at {} in {} (exam {})", reminder.userId(), reminder.subject(),
+                reminder.examDate(), reminder.location(), reminder.examId());
+    }
+}
@@ -0,0 +1,9 @@
+package com.examscheduler.backend.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// a reminder that fell due, built from the exam row as it is at delivery time
+public record Reminder(Long examId, Long userId, String subject, LocalDateTime examDate, String location,
+                       Duration lead) {
+}
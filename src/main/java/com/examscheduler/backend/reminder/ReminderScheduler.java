@@ -0,0 +1,290 @@
+package com.examscheduler.backend.reminder;
+
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.repository.SentReminderRepository;
+import com.examscheduler.backend.service.ExamChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// sends a reminder a fixed lead time before every exam without ever scanning the whole table
+// only reminders due within the horizon are held, in a timing wheel keyed by exam id that
+// stores just the id and exam start; the horizon is extended by range reads on exam_date as time passes,
+// exam changes on this instance update the wheel straight away, and a restart rebuilds it from
+// the database. the row is read again when a reminder fires, so edits made elsewhere (another
+// instance, a bulk statement) are honoured and a deleted exam is never announced
+// every instance schedules every reminder; the one that claims it in exam_reminders_sent sends it
+// the wheel is guarded by a ReentrantLock rather than synchronized, as workers touching it run on
+// virtual threads, which keep their carrier while waiting on a monitor
+@Component
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    // one-second ticks, 64 buckets per level and 4 levels reach about 190 days ahead
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final ExamRepository examRepository;
+    private final SentReminderRepository sentReminderRepository;
+    private final ReminderSender sender;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final ZoneId zone = clock.getZone();
+
+    private final boolean enabled;
+    private final Duration lead;
+    private final Duration horizon;
+    private final Duration tick;
+    private final Duration catchUp;
+
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final TimingWheel<Pending> wheel;  // guarded by wheelLock
+    private LocalDateTime loadedUntil;  // reminders due before this are in the wheel, guarded by wheelLock
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicBoolean bulkReloadQueued = new AtomicBoolean();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "exam-reminders");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReminderScheduler(ExamRepository examRepository, SentReminderRepository sentReminderRepository,
+                             ReminderSender sender, PlatformTransactionManager transactionManager,
+                             @Value("${reminders.enabled:true}") boolean enabled,
+                             @Value("${reminders.lead:PT24H}") Duration lead,
+                             @Value("${reminders.horizon:PT6H}") Duration horizon,
+                             @Value("${reminders.tick:PT1S}") Duration tick,
+                             @Value("${reminders.catch-up:PT5M}") Duration catchUp) {
+        this.examRepository = examRepository;
+        this.sentReminderRepository = sentReminderRepository;
+        this.sender = sender;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.lead = lead;
+        this.horizon = horizon;
+        this.tick = tick;
+        this.catchUp = catchUp;
+        this.wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, clock.millis());
+        // the wheel holds up to one and a half horizons, the next slice is loaded half a horizon ahead
+        if (horizon.multipliedBy(3).dividedBy(2).toMillis() > wheel.horizonMillis()) {
+            throw new IllegalArgumentException("reminders.horizon is too long for a " + tick + " tick");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // reminders that fell due while the application was down are sent if they are recent enough
+        // and no other instance sent them already
+        extend();
+        long tickMillis = tick.toMillis();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        long extendMillis = horizon.toMillis() / 2;
+        ticker.scheduleAtFixedRate(this::extend, extendMillis, extendMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // keeps the loaded window one full horizon ahead of now, the first run also covers the catch-up period;
+    // markers of reminders that can no longer come due, not even in a catch-up, are dropped on the way
+    private void extend() {
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime from;
+            wheelLock.lock();
+            try {
+                from = loadedUntil != null ? loadedUntil : now.minus(catchUp);
+            } finally {
+                wheelLock.unlock();
+            }
+            load(from, now.plus(horizon));
+            transaction.executeWithoutResult(status ->
+                    sentReminderRepository.deleteForExamsBefore(now.minus(catchUp).plus(lead)));
+        } catch (RuntimeException e) {
+            log.warn("Could not extend the reminder horizon, retrying on the next run", e);
+        }
+    }
+
+    // schedules every reminder due in [dueFrom, dueTo), one range read on exam_date
+    private void load(LocalDateTime dueFrom, LocalDateTime dueTo) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ExamSlot> slots = examRepository.streamSlotsStartingBetween(dueFrom.plus(lead), dueTo.plus(lead))) {
+                slots.forEach(slot -> {
+                    wheelLock.lock();
+                    try {
+                        wheel.schedule(slot.id(), dueMillis(slot.start()), new Pending(slot.id(), slot.start()));
+                    } finally {
+                        wheelLock.unlock();
+                    }
+                });
+            }
+        });
+        wheelLock.lock();
+        try {
+            if (loadedUntil == null || dueTo.isAfter(loadedUntil)) {
+                loadedUntil = dueTo;
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void tick() {
+        List<Pending> due;
+        wheelLock.lock();
+        try {
+            due = wheel.advance(clock.millis());
+        } finally {
+            wheelLock.unlock();
+        }
+        for (Pending pending : due) {
+            workers.execute(() -> deliver(pending));
+        }
+    }
+
+    private void deliver(Pending pending) {
+        try {
+            ExamSlot slot = examRepository.findSlotById(pending.examId()).orElse(null);
+            if (slot == null) {
+                return;
+            }
+            if (!slot.start().equals(pending.start())) {
+                // moved by a write this instance did not see, schedule for the new start instead
+                refresh(slot);
+                return;
+            }
+            if (!claim(slot)) {
+                return;
+            }
+            sender.send(new Reminder(slot.id(), slot.userId(), slot.subject(), slot.start(), slot.location(), lead));
+            sent.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("Could not send the reminder for exam {}", pending.examId(), e);
+        }
+    }
+
+    // true for the one instance whose marker for this exam start commits; the others wait for that
+    // commit and then fail on the key. the marker is kept if sending fails, so like before a failure
+    // loses the reminder rather than repeating it
+    boolean claim(ExamSlot slot) {
+        try {
+            transaction.executeWithoutResult(status ->
+                    sentReminderRepository.claim(slot.id(), slot.start(), clock.instant()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    // follows committed changes to single exams, bulk changes re-read the loaded window
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamChanged(ExamChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case DELETED -> {
+                wheelLock.lock();
+                try {
+                    wheel.cancel(event.examId());
+                } finally {
+                    wheelLock.unlock();
+                }
+            }
+            case ADDED, UPDATED -> workers.execute(() -> examRepository.findSlotById(event.examId())
+                    .ifPresent(this::refresh));
+            // a burst of bulk events (partition archival sends one per user) needs only one reload
+            case BULK -> {
+                if (bulkReloadQueued.compareAndSet(false, true)) {
+                    workers.execute(this::reloadWindow);
+                }
+            }
+        }
+    }
+
+    private void reloadWindow() {
+        bulkReloadQueued.set(false);
+        LocalDateTime until;
+        wheelLock.lock();
+        try {
+            until = loadedUntil;
+        } finally {
+            wheelLock.unlock();
+        }
+        if (until != null) {
+            load(LocalDateTime.now(clock), until);
+        }
+    }
+
+    // places the exam's reminder if it is due within the loaded window, otherwise removes it;
+    // one beyond the window is picked up when the horizon is extended
+    private void refresh(ExamSlot slot) {
+        LocalDateTime due = slot.start().minus(lead);
+        wheelLock.lock();
+        try {
+            if (loadedUntil != null && due.isBefore(loadedUntil) && due.isAfter(LocalDateTime.now(clock))) {
+                wheel.schedule(slot.id(), dueMillis(slot.start()), new Pending(slot.id(), slot.start()));
+            } else {
+                wheel.cancel(slot.id());
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        workers.shutdown();
+    }
+
+    private long dueMillis(LocalDateTime examStart) {
+        return examStart.minus(lead).atZone(zone).toInstant().toEpochMilli();
+    }
+
+    // what the wheel holds per exam: the start the reminder was computed from
+    private record Pending(Long examId, LocalDateTime start) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.examscheduler.backend.reminder;
+
+// delivers due reminders, chosen with reminders.sender; called from virtual threads, possibly
+// concurrently, and a failure only loses that one reminder
+public interface ReminderSender {
+
+    void send(Reminder reminder);
+}
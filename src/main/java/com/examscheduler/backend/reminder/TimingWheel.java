@@ -0,0 +1,166 @@
+package com.examscheduler.backend.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// hierarchical timing wheel keyed by a long id, not thread-safe, callers hold their own lock
+// level 0 has one bucket per tick, every level above has buckets wheelSize times wider; an entry
+// sits in the lowest level whose range still reaches its deadline and moves down a level each
+// time its bucket comes up, so advancing one tick touches one bucket per level plus the entries
+// that actually move or expire, independent of how many entries are pending
+// adding, replacing and cancelling are constant time through the id map and intrusive bucket lists
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans;  // ticks covered by one bucket of each level
+    private final Node<T>[][] buckets;  // sentinel heads of circular lists
+    private final Map<Long, Node<T>> nodes = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levels];
+        this.buckets = new Node[levels][wheelSize];
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            spans[level] = span;
+            for (int bucket = 0; bucket < wheelSize; bucket++) {
+                Node<T> head = new Node<>(0, 0, null);
+                head.prev = head;
+                head.next = head;
+                buckets[level][bucket] = head;
+            }
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // distance from the current time within which every deadline is accepted
+    long horizonMillis() {
+        return spans[spans.length - 1] * (wheelSize - 1) * tickMillis;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    boolean contains(long id) {
+        return nodes.containsKey(id);
+    }
+
+    // schedules or reschedules id, returns false (and drops any earlier entry) when the deadline is
+    // beyond the horizon; a deadline that is already due fires on the next advance
+    boolean schedule(long id, long deadlineMillis, T value) {
+        cancel(id);
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        Node<T> node = new Node<>(id, deadlineTick, value);
+        if (!place(node)) {
+            return false;
+        }
+        nodes.put(id, node);
+        return true;
+    }
+
+    boolean cancel(long id) {
+        Node<T> node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    // moves the wheel forward to nowMillis and returns the values that fell due, earliest tick first
+    List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            if (nodes.isEmpty()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            // cascade wider buckets whose span starts now, from the top, so their entries are in
+            // place before the lower levels are looked at
+            for (int level = spans.length - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    Node<T> head = buckets[level][(int) ((currentTick / spans[level]) % wheelSize)];
+                    for (Node<T> node = detachAll(head); node != null; ) {
+                        Node<T> next = node.next;
+                        node.next = null;
+                        if (node.deadlineTick <= currentTick) {
+                            nodes.remove(node.id);
+                            due.add(node.value);
+                        } else {
+                            place(node);
+                        }
+                        node = next;
+                    }
+                }
+            }
+            Node<T> head = buckets[0][(int) (currentTick % wheelSize)];
+            for (Node<T> node = detachAll(head); node != null; node = node.next) {
+                nodes.remove(node.id);
+                due.add(node.value);
+            }
+        }
+        return due;
+    }
+
+    // links the node into the lowest level whose bucket for its deadline comes up before it is due
+    private boolean place(Node<T> node) {
+        for (int level = 0; level < spans.length; level++) {
+            long distance = node.deadlineTick / spans[level] - currentTick / spans[level];
+            if (distance < wheelSize) {
+                Node<T> head = buckets[level][(int) ((node.deadlineTick / spans[level]) % wheelSize)];
+                node.prev = head.prev;
+                node.next = head;
+                head.prev.next = node;
+                head.prev = node;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> void unlink(Node<T> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    // empties a bucket and returns its former entries as a null-terminated singly linked chain
+    private static <T> Node<T> detachAll(Node<T> head) {
+        if (head.next == head) {
+            return null;
+        }
+        Node<T> first = head.next;
+        head.prev.next = null;
+        head.next = head;
+        head.prev = head;
+        return first;
+    }
+
+    private static final class Node<T> {
+        final long id;
+        final long deadlineTick;
+        final T value;
+        Node<T> prev;
+        Node<T> next;
+
+        Node(long id, long deadlineTick, T value) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+}
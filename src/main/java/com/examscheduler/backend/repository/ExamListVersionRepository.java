@@ -0,0 +1,26 @@
+package com.examscheduler.backend.repository;
+
+import com.examscheduler.backend.entity.ExamListVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ExamListVersionRepository extends JpaRepository<ExamListVersion, Long> {
+
+    // zero when the user has no version row yet
+    @Modifying
+    @Query("""
+            update ExamListVersion v
+            set v.version = v.version + 1, v.modifiedAt = :now
+            where v.userId = :userId
+            """)
+    int increment(@Param("userId") Long userId, @Param("now") Instant now);
+
+    // serializes the first change of a user, so concurrent writers cannot both insert the version row
+    @Query(value = "select id from users where id = :userId for update", nativeQuery = true)
+    List<Long> lockUser(@Param("userId") Long userId);
+}
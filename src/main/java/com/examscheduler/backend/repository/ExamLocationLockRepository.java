@@ -0,0 +1,23 @@
+package com.examscheduler.backend.repository;
+
+import com.examscheduler.backend.entity.ExamLocationLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ExamLocationLockRepository extends JpaRepository<ExamLocationLock, Integer> {
+
+    // empty when the stripe's row does not exist
+    @Query(value = "select stripe from exam_location_lock_stripes where stripe = :stripe for update", nativeQuery = true)
+    List<Integer> lock(@Param("stripe") int stripe);
+
+    @Query("select l.stripe from ExamLocationLock l")
+    List<Integer> findAllStripes();
+
+    @Modifying
+    @Query(value = "insert into exam_location_lock_stripes (stripe) values (:stripe)", nativeQuery = true)
+    void create(@Param("stripe") int stripe);
+}
@@ -0,0 +1,202 @@
+package com.examscheduler.backend.repository;
+
+import com.examscheduler.backend.service.ExamChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// keeps a postgresql exams table range-partitioned by exam_date (see db/partition-exams.sql) in shape:
+// partitions for the current term and the next ones are created ahead of time, and partitions that
+// ended more than the retention period ago are detached and moved to the archive schema, so user
+// queries only ever touch the partitions of recent and upcoming exams
+// the exams table has a default partition, which rules out detach ... concurrently: a detach takes
+// an access exclusive lock on exams for the moment it runs (a catalog change, no rows are moved), so
+// it gives up after lock-timeout instead of queueing every exam query behind a long transaction
+// and is retried on the next run
+// partitions are aligned on january 1st and cover months-per-partition months each, the same terms
+// ExamService uses as the default lower bound of its listings
+@Component
+public class ExamPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamPartitionMaintenance.class);
+
+    private static final String TABLE = "exams";
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('(\\d{4}-\\d{2}-\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private final boolean enabled;
+    private final int monthsPerPartition;
+    private final int partitionsAhead;
+    private final Period retention;
+    private final String archiveSchema;
+    private final Duration interval;
+    private final Duration lockTimeout;
+
+    private final ScheduledExecutorService runner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "exam-partitions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExamPartitionMaintenance(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                    @Value("${exams.partitioning.enabled:false}") boolean enabled,
+                                    @Value("${exams.partitioning.months-per-partition:6}") int monthsPerPartition,
+                                    @Value("${exams.partitioning.ahead:2}") int partitionsAhead,
+                                    @Value("${exams.partitioning.retention:P2Y}") Period retention,
+                                    @Value("${exams.partitioning.archive-schema:exams_archive}") String archiveSchema,
+                                    @Value("${exams.partitioning.interval:PT6H}") Duration interval,
+                                    @Value("${exams.partitioning.lock-timeout:PT5S}") Duration lockTimeout) {
+        if (monthsPerPartition < 1 || 12 % monthsPerPartition != 0) {
+            throw new IllegalArgumentException("exams.partitioning.months-per-partition must divide 12");
+        }
+        if (!archiveSchema.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("exams.partitioning.archive-schema must be a plain lowercase identifier");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.monthsPerPartition = monthsPerPartition;
+        this.partitionsAhead = partitionsAhead;
+        this.retention = retention;
+        this.archiveSchema = archiveSchema;
+        this.interval = interval;
+        this.lockTimeout = lockTimeout;
+    }
+
+    // listings only default to the current term when the table is actually partitioned
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        runner.scheduleWithFixedDelay(this::run, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        runner.shutdownNow();
+    }
+
+    // first day of the term containing now, listings start here unless past exams are asked for
+    public LocalDateTime currentTermStart() {
+        return termStart(LocalDate.now(clock)).atStartOfDay();
+    }
+
+    LocalDate termStart(LocalDate day) {
+        int firstMonth = (day.getMonthValue() - 1) / monthsPerPartition * monthsPerPartition + 1;
+        return LocalDate.of(day.getYear(), firstMonth, 1);
+    }
+
+    private void run() {
+        try {
+            if (!isPartitioned()) {
+                log.warn("Table {} is not partitioned, run db/partition-exams.sql to enable partition maintenance", TABLE);
+                return;
+            }
+            LocalDate current = termStart(LocalDate.now(clock));
+            for (int i = 0; i <= partitionsAhead; i++) {
+                createPartition(current.plusMonths((long) i * monthsPerPartition));
+            }
+            archivePartitionsEndingBefore(current.minus(retention));
+        } catch (RuntimeException e) {
+            log.warn("Exam partition maintenance failed, retrying on the next run", e);
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "select c.relkind::text from pg_class c where c.oid = to_regclass(?)", String.class, TABLE);
+        return kinds.size() == 1 && "p".equals(kinds.get(0));
+    }
+
+    private void createPartition(LocalDate from) {
+        LocalDate to = from.plusMonths(monthsPerPartition);
+        String name = String.format("%s_p%d_%02d", TABLE, from.getYear(), from.getMonthValue());
+        try {
+            jdbcTemplate.execute("create table if not exists " + name + " partition of " + TABLE
+                    + " for values from ('" + from + "') to ('" + to + "')");
+        } catch (DataAccessException e) {
+            // usually rows for that term already sitting in the default partition, which has to be
+            // split by hand (detach default, create the partition, move the rows, reattach)
+            log.warn("Could not create partition {} for [{}, {})", name, from, to, e);
+        }
+    }
+
+    // a detached partition keeps its rows and indexes, it only stops being part of the exams table
+    // every user who had exams in it gets a bulk change event, which drops the search, conflict and
+    // next-exam caches and bumps the list version so etags stop matching
+    private void archivePartitionsEndingBefore(LocalDate cutoff) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList("""
+                select c.relname as name, pg_get_expr(c.relpartbound, c.oid) as bound
+                from pg_inherits i join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = to_regclass(?)
+                """, TABLE);
+        for (Map<String, Object> partition : partitions) {
+            Matcher upper = UPPER_BOUND.matcher((String) partition.get("bound"));
+            if (!upper.find() || !LocalDate.parse(upper.group(1)).isBefore(cutoff.plusDays(1))) {
+                continue;  // the default partition, or one still within retention
+            }
+            String name = (String) partition.get("name");
+            List<Long> userIds = jdbcTemplate.queryForList(
+                    "select distinct user_id from " + name + " where user_id is not null", Long.class);
+            archive(name);
+            log.info("Archived exam partition {} to schema {}", name, archiveSchema);
+
+            for (Long userId : userIds) {
+                eventPublisher.publishEvent(new ExamChangedEvent(ExamChangedEvent.Type.BULK, userId, null));
+            }
+        }
+    }
+
+    // detach and move in one transaction on one connection, so lock_timeout applies to both and a
+    // failure leaves the partition attached
+    private void archive(String name) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local lock_timeout = " + lockTimeout.toMillis());
+                statement.execute("create schema if not exists " + archiveSchema);
+                statement.execute("alter table " + TABLE + " detach partition " + name);
+                statement.execute("alter table " + name + " set schema " + archiveSchema);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+}
@@ -1,11 +1,261 @@
 package com.examscheduler.backend.repository;
 
+import com.examscheduler.backend.dto.DailyExamLoad;
+import com.examscheduler.backend.dto.ExamLoad;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.dto.ExamSummary;
 import com.examscheduler.backend.entity.Exam;
-import com.examscheduler.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ExamRepository extends JpaRepository<Exam, Long> {
-    List<Exam> findAllByUser(User user);
+
+    // rows pulled from the jdbc cursor per round-trip when streaming an export
+    int EXPORT_FETCH_SIZE = 500;
+
+    // all of a user's exams as flat projections, only the four exam columns are selected
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSummary(e.id, e.subject, e.examDate, e.location, e.durationMinutes)
+            from Exam e
+            where e.user.id = :userId
+            order by e.examDate, e.id
+            """)
+    List<ExamSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // the user's exams starting at or after the given time; on a partitioned table this only
+    // touches the partitions from that time on
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSummary(e.id, e.subject, e.examDate, e.location, e.durationMinutes)
+            from Exam e
+            where e.user.id = :userId and e.examDate >= :from
+            order by e.examDate, e.id
+            """)
+    List<ExamSummary> findSummariesByUserIdFrom(@Param("userId") Long userId, @Param("from") LocalDateTime from);
+
+    // keyset page of a user's exams ordered by (examDate, id), starting strictly after the given cursor
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSummary(e.id, e.subject, e.examDate, e.location, e.durationMinutes)
+            from Exam e
+            where e.user.id = :userId
+              and e.examDate >= :from and e.examDate < :to
+              and lower(e.subject) like :subjectPrefix escape '\\'
+              and (e.examDate > :afterDate or (e.examDate = :afterDate and e.id > :afterId))
+            order by e.examDate, e.id
+            """)
+    List<ExamSummary> findPageByUserId(@Param("userId") Long userId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("subjectPrefix") String subjectPrefix,
+                                @Param("afterDate") LocalDateTime afterDate,
+                                @Param("afterId") Long afterId,
+                                Limit limit);
+
+    // a user's next exams starting at or after the given time, a short range read on (user_id, exam_date, id)
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSummary(e.id, e.subject, e.examDate, e.location, e.durationMinutes)
+            from Exam e
+            where e.user.id = :userId and e.examDate >= :from
+            order by e.examDate, e.id
+            """)
+    List<ExamSummary> findUpcomingByUserId(@Param("userId") Long userId, @Param("from") LocalDateTime from, Limit limit);
+
+    // streams every exam of a user as column projections, must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSummary(e.id, e.subject, e.examDate, e.location, e.durationMinutes)
+            from Exam e
+            where e.user.id = :userId
+            order by e.examDate, e.id
+            """)
+    Stream<ExamSummary> streamSummariesByUserId(@Param("userId") Long userId);
+
+    // every interval a user occupies, used to build the in-memory conflict index for that user
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where e.user.id = :userId
+            """)
+    List<ExamSlot> findSlotsByUserId(@Param("userId") Long userId);
+
+    // a user's intervals starting in [from, to), a range read on (user_id, exam_date, id); with from one
+    // longest exam before an interval, every exam overlapping it is among them
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where e.user.id = :userId and e.examDate >= :from and e.examDate < :to
+            """)
+    List<ExamSlot> findSlotsByUserIdStartingBetween(@Param("userId") Long userId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    // every exam starting in [from, to) across all users, streamed for the reminder scheduler
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where e.examDate >= :from and e.examDate < :to
+            """)
+    Stream<ExamSlot> streamSlotsStartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where e.id = :id
+            """)
+    Optional<ExamSlot> findSlotById(@Param("id") Long id);
+
+    // every interval booked at a location (case and surrounding whitespace ignored), across all users
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where lower(trim(e.location)) = :location
+            """)
+    List<ExamSlot> findSlotsByLocation(@Param("location") String normalizedLocation);
+
+    // the same for the intervals booked at a location, across all users
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where lower(trim(e.location)) = :location and e.examDate >= :from and e.examDate < :to
+            """)
+    List<ExamSlot> findSlotsByLocationStartingBetween(@Param("location") String normalizedLocation,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    // exam load across all users, aggregated in the database over a range read on exam_date;
+    // exams stored without a duration count with the default length
+    @Query("""
+            select new com.examscheduler.backend.dto.DailyExamLoad(cast(e.examDate as LocalDate), count(e),
+                   sum(coalesce(e.durationMinutes, com.examscheduler.backend.entity.Exam.DEFAULT_DURATION_MINUTES)))
+            from Exam e
+            where e.examDate >= :from and e.examDate < :to
+            group by cast(e.examDate as LocalDate)
+            order by cast(e.examDate as LocalDate)
+            """)
+    List<DailyExamLoad> countByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamLoad(lower(trim(e.location)), count(e),
+                   sum(coalesce(e.durationMinutes, com.examscheduler.backend.entity.Exam.DEFAULT_DURATION_MINUTES)))
+            from Exam e
+            where e.examDate >= :from and e.examDate < :to
+            group by lower(trim(e.location))
+            order by count(e) desc, lower(trim(e.location))
+            """)
+    List<ExamLoad> countByLocation(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // owner-scoped single-statement operations: an empty result or zero rows means the exam
+    // is either missing or owned by someone else, which the caller tells apart only on that path
+
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSummary(e.id, e.subject, e.examDate, e.location, e.durationMinutes)
+            from Exam e
+            where e.id = :id and e.user.id = :userId
+            """)
+    Optional<ExamSummary> findSummaryByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where e.id = :id and e.user.id = :userId
+            """)
+    Optional<ExamSlot> findSlotByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // a null duration keeps the stored one
+    @Modifying
+    @Query("""
+            update Exam e
+            set e.subject = :subject, e.examDate = :examDate, e.location = :location,
+                e.durationMinutes = coalesce(:durationMinutes, e.durationMinutes),
+                e.version = coalesce(e.version, 0) + 1
+            where e.id = :id and e.user.id = :userId
+            """)
+    int updateByIdAndUserId(@Param("id") Long id,
+                            @Param("userId") Long userId,
+                            @Param("subject") String subject,
+                            @Param("examDate") LocalDateTime examDate,
+                            @Param("location") String location,
+                            @Param("durationMinutes") Integer durationMinutes);
+
+    @Modifying
+    @Query("delete from Exam e where e.id = :id and e.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // set-based bulk changes: one statement each, ownership enforced in the where clause
+    // exams match on [from, to), a case-insensitive subject like pattern and a normalized location
+    // like pattern ('%' to match any, exams without a subject or location included)
+
+    // the intervals a bulk statement with the same filter would change, read before it to check them
+    @Query("""
+            select new com.examscheduler.backend.dto.ExamSlot(e.id, e.user.id, e.subject, e.examDate, e.durationMinutes, e.location)
+            from Exam e
+            where e.user.id = :userId
+              and e.examDate >= :from and e.examDate < :to
+              and lower(coalesce(e.subject, '')) like :subjectPattern escape '\\'
+              and lower(trim(coalesce(e.location, ''))) like :locationPattern escape '\\'
+            """)
+    List<ExamSlot> findSlotsMatchingByUserId(@Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("subjectPattern") String subjectPattern,
+                                             @Param("locationPattern") String locationPattern);
+
+    @Modifying
+    @Query("""
+            update Exam e
+            set e.examDate = e.examDate + (:offsetMinutes) minute,
+                e.version = coalesce(e.version, 0) + 1
+            where e.user.id = :userId
+              and e.examDate >= :from and e.examDate < :to
+              and lower(coalesce(e.subject, '')) like :subjectPattern escape '\\'
+              and lower(trim(coalesce(e.location, ''))) like :locationPattern escape '\\'
+            """)
+    int shiftByUserId(@Param("userId") Long userId,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to,
+                      @Param("subjectPattern") String subjectPattern,
+                      @Param("locationPattern") String locationPattern,
+                      @Param("offsetMinutes") long offsetMinutes);
+
+    @Modifying
+    @Query("""
+            update Exam e
+            set e.location = :newLocation,
+                e.version = coalesce(e.version, 0) + 1
+            where e.user.id = :userId
+              and e.examDate >= :from and e.examDate < :to
+              and lower(coalesce(e.subject, '')) like :subjectPattern escape '\\'
+              and lower(trim(coalesce(e.location, ''))) like :locationPattern escape '\\'
+            """)
+    int relocateByUserId(@Param("userId") Long userId,
+                         @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to,
+                         @Param("subjectPattern") String subjectPattern,
+                         @Param("locationPattern") String locationPattern,
+                         @Param("newLocation") String newLocation);
+
+    @Modifying
+    @Query("""
+            delete from Exam e
+            where e.user.id = :userId
+              and e.examDate >= :from and e.examDate < :to
+              and lower(coalesce(e.subject, '')) like :subjectPattern escape '\\'
+              and lower(trim(coalesce(e.location, ''))) like :locationPattern escape '\\'
+            """)
+    int deleteMatchingByUserId(@Param("userId") Long userId,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to,
+                               @Param("subjectPattern") String subjectPattern,
+                               @Param("locationPattern") String locationPattern);
 }
@@ -0,0 +1,24 @@
+package com.examscheduler.backend.repository;
+
+import com.examscheduler.backend.entity.SentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public interface SentReminderRepository extends JpaRepository<SentReminder, SentReminder.Key> {
+
+    // fails with a key violation when another instance already claimed the reminder, waiting for
+    // that instance's transaction if it has not committed yet
+    @Modifying
+    @Query(value = "insert into exam_reminders_sent (exam_id, exam_date, sent_at) values (:examId, :examDate, :sentAt)",
+            nativeQuery = true)
+    void claim(@Param("examId") Long examId, @Param("examDate") LocalDateTime examDate, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("delete from SentReminder r where r.examDate < :before")
+    int deleteForExamsBefore(@Param("before") LocalDateTime before);
+}
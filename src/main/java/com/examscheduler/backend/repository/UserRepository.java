@@ -1,14 +1,28 @@
 package com.examscheduler.backend.repository;
 
 import com.examscheduler.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // runs on every uncached authentication, so the id it resolves to is kept in the query cache
+    // and the user itself in the entity cache; both are invalidated by any write to users
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     Optional<User> findByUsername(String username);
-    boolean existsByUsername(String username);
-
 
+    // the same lookup without the query cache, for a read that must see what the database has now;
+    // a miss on a lagging replica is cached under the same key as findByUsername and would be served again
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("select u from User u where u.username = :username")
+    Optional<User> findByUsernameUncached(@Param("username") String username);
 }
@@ -0,0 +1,108 @@
+package com.examscheduler.backend.security;
+
+import com.examscheduler.backend.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// request rate limits applied by AdmissionControlFilter: one bucket per user (per client address
+// for anonymous requests such as signup and login) checked first, so a single noisy client is
+// turned away without using up the shared budget, then one global bucket for the whole instance
+// failed password checks are limited separately per attempted username and client address, by
+// AuthenticationThrottleFilter ahead of http basic and by the login endpoint: http basic answers a
+// wrong password itself, so those requests never reach the per-user limit, yet each one costs a
+// user lookup and a bcrypt check; keyed on the username too, so clients sharing an address (behind
+// a proxy, on a campus network) never lock each other out
+// client addresses are the request's remote address, which reflects x-forwarded-for only when
+// server.forward-headers-strategy is set for the proxy in front
+@Component
+public class AdmissionControl {
+
+    private final boolean enabled;
+    private final RateLimiter perUser;
+    private final RateLimiter global;
+    private final RateLimiter authFailures;
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejectedPerUser = new AtomicLong();
+    private final AtomicLong rejectedGlobal = new AtomicLong();
+    private final AtomicLong rejectedAuthFailures = new AtomicLong();
+
+    public AdmissionControl(@Value("${admission.enabled:true}") boolean enabled,
+                            @Value("${admission.user.rate:20}") double userRate,
+                            @Value("${admission.user.burst:40}") int userBurst,
+                            @Value("${admission.user.max-tracked:100000}") int maxTracked,
+                            @Value("${admission.global.rate:2000}") double globalRate,
+                            @Value("${admission.global.burst:4000}") int globalBurst,
+                            @Value("${admission.auth-failures.rate:0.1}") double authFailureRate,
+                            @Value("${admission.auth-failures.burst:10}") int authFailureBurst) {
+        this.enabled = enabled;
+        this.perUser = new RateLimiter(userRate, userBurst, maxTracked);
+        this.global = new RateLimiter(globalRate, globalBurst, 1);
+        this.authFailures = new RateLimiter(authFailureRate, authFailureBurst, maxTracked);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 0 when the request may go ahead, otherwise the whole seconds to put in retry-after
+    public long admit(Object clientKey) {
+        long wait = perUser.tryAcquire(clientKey);
+        if (wait > 0) {
+            rejectedPerUser.incrementAndGet();
+            return toRetryAfterSeconds(wait);
+        }
+        wait = global.tryAcquire(Boolean.TRUE);
+        if (wait > 0) {
+            rejectedGlobal.incrementAndGet();
+            return toRetryAfterSeconds(wait);
+        }
+        admitted.incrementAndGet();
+        return 0;
+    }
+
+    // checked before a password is verified: 0 while the username still has failed attempts left
+    // from that address, otherwise the whole seconds to put in retry-after; only failures use
+    // attempts up
+    public long admitAuthentication(String address, String username) {
+        long wait = authFailures.peek(new AuthenticationKey(address, UserService.normalizeUsername(username)));
+        if (wait > 0) {
+            rejectedAuthFailures.incrementAndGet();
+            return toRetryAfterSeconds(wait);
+        }
+        return 0;
+    }
+
+    public void recordAuthenticationFailure(String address, String username) {
+        authFailures.tryAcquire(new AuthenticationKey(address, UserService.normalizeUsername(username)));
+    }
+
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    public long getRejectedPerUserCount() {
+        return rejectedPerUser.get();
+    }
+
+    public long getRejectedGlobalCount() {
+        return rejectedGlobal.get();
+    }
+
+    public long getRejectedAuthFailuresCount() {
+        return rejectedAuthFailures.get();
+    }
+
+    public int getTrackedClients() {
+        return perUser.size();
+    }
+
+    private record AuthenticationKey(String address, String username) {
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.examscheduler.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// runs ahead of authentication and answers 429 to a username that used up its failed attempts from
+// the client's address, before the user lookup and bcrypt check a guessed password would cost
+// only http basic requests carry a password here; one answered 401 counts as a failure, while
+// requests without credentials and bearer tokens (a signature check, nothing to guess) never do;
+// POST /api/auth/login is throttled by AuthController, which knows the username from the body
+public class AuthenticationThrottleFilter extends OncePerRequestFilter {
+
+    private static final String BASIC_PREFIX = "basic ";
+
+    private final AdmissionControl admissionControl;
+
+    public AuthenticationThrottleFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String username = basicUsername(request);
+        if (username == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String address = request.getRemoteAddr();
+        long retryAfterSeconds = admissionControl.admitAuthentication(address, username);
+        if (retryAfterSeconds > 0) {
+            AdmissionControlFilter.reject(response, retryAfterSeconds);
+            return;
+        }
+        chain.doFilter(request, response);
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+            admissionControl.recordAuthenticationFailure(address, username);
+        }
+    }
+
+    // the username of an http basic header, null when the request carries none; a header that does
+    // not decode counts against the empty username, as basic authentication rejects it as well
+    private static String basicUsername(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            return null;
+        }
+        try {
+            String credentials = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+            int colon = credentials.indexOf(':');
+            return colon < 0 ? "" : credentials.substring(0, colon);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
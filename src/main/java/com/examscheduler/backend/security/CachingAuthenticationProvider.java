@@ -0,0 +1,52 @@
+package com.examscheduler.backend.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// username/password authentication that consults the principal cache before falling back
+// to the regular database lookup plus bcrypt check, and caches every successful check
+@Component
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final PrincipalCache principalCache;
+    private final DaoAuthenticationProvider delegate;
+
+    public CachingAuthenticationProvider(PrincipalCache principalCache,
+                                         CustomUserDetailsService userDetailsService,
+                                         PasswordEncoder passwordEncoder) {
+        this.principalCache = principalCache;
+        this.delegate = new DaoAuthenticationProvider();
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        this.delegate.setUserDetailsService(userDetailsService);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String rawPassword)) {
+            return delegate.authenticate(authentication);
+        }
+
+        AuthenticatedUser cached = principalCache.lookup(username, rawPassword);
+        if (cached != null) {
+            return UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities());
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result.getPrincipal() instanceof AuthenticatedUser principal) {
+            principalCache.put(principal, rawPassword);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
@@ -1,12 +1,16 @@
 package com.examscheduler.backend.security;
 
+import com.examscheduler.backend.config.ReplicaRoutingDataSource;
 import com.examscheduler.backend.entity.User;
 import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.service.UserService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 // service class for loading user details from the database for authentication
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -22,15 +26,18 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // fetch the user from the database or throw an exception if not found
+        // signups are stored lowercased, the name as typed is tried first for accounts created before that
+        // a miss is checked again on the primary, a read replica may not have a fresh signup yet;
+        // that check skips the query cache, which would otherwise hand back the replica's miss
+        String normalized = UserService.normalizeUsername(username);
         User user = userRepository.findByUsername(username)
+                .or(() -> normalized.equals(username) ? Optional.empty() : userRepository.findByUsername(normalized))
+                .or(() -> ReplicaRoutingDataSource.onPrimary(() -> userRepository.findByUsernameUncached(normalized)))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        // build and return a UserDetails object with the user's credentials and role
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .roles("USER")
-                .build();
+        // build and return a UserDetails object with the user's id, credentials and roles
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(),
+                RoleResolver.authoritiesFor(user.getRole()));
     }
 }
 
@@ -0,0 +1,157 @@
+package com.examscheduler.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// bounded, ttl-evicting cache of recently verified credentials
+// a hit skips both the users lookup and the bcrypt verification for a username/password pair
+// that was already checked; only an hmac fingerprint of the raw password is kept, keyed with a
+// per-process random secret, so the cache never holds anything that can be replayed elsewhere
+// an entry is a snapshot of the user row: writes made through the application evict it (see
+// invalidate), but a change made straight in the database, such as granting a role (see RoleResolver),
+// or through another instance is only seen once the entry expires, so auth.cache.ttl is how long
+// such a change can take to apply
+@Component
+public class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final SecretKeySpec fingerprintKey;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(@Value("${auth.cache.max-size:10000}") int maxSize,
+                          @Value("${auth.cache.ttl:PT5M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.fingerprintKey = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    // returns a fresh principal when the pair was verified within the ttl, otherwise null
+    public AuthenticatedUser lookup(String username, String rawPassword) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(username, entry);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        if (!MessageDigest.isEqual(entry.fingerprint, fingerprint(username, rawPassword, entry.passwordHash))) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        // a new instance every time: authentication erases credentials on the principal it returns
+        return new AuthenticatedUser(entry.userId, username, entry.passwordHash, entry.authorities);
+    }
+
+    // remembers a pair that was just verified against the stored password hash
+    public void put(AuthenticatedUser principal, String rawPassword) {
+        String username = principal.getUsername();
+        String passwordHash = principal.getPassword();
+        if (passwordHash == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(username)) {
+            evictExpiredOrOldest();
+        }
+        entries.put(username, new Entry(principal.getUserId(), passwordHash,
+                fingerprint(username, rawPassword, passwordHash),
+                List.copyOf(principal.getAuthorities()), System.nanoTime()));
+    }
+
+    // must be called after every write to a user row (password, role, removal), once it is committed
+    public void invalidate(String username) {
+        if (entries.remove(username) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    public void invalidateAll() {
+        evictions.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // drops expired entries, or the oldest one when nothing has expired yet
+    private void evictExpiredOrOldest() {
+        long now = System.nanoTime();
+        String oldestKey = null;
+        long oldestCreatedAt = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        boolean removed = false;
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> candidate = it.next();
+            long createdAt = candidate.getValue().createdAt;
+            if (now - createdAt > ttlNanos) {
+                it.remove();
+                evictions.incrementAndGet();
+                removed = true;
+            } else if (createdAt - oldestCreatedAt < 0) {
+                oldestCreatedAt = createdAt;
+                oldestKey = candidate.getKey();
+            }
+        }
+        if (!removed && oldestKey != null && entries.remove(oldestKey) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    // the stored hash is part of the fingerprint so a password change never matches an old entry
+    private byte[] fingerprint(String username, String rawPassword, String passwordHash) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(fingerprintKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(passwordHash.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private record Entry(Long userId, String passwordHash, byte[] fingerprint,
+                         Collection<? extends GrantedAuthority> authorities, long createdAt) {
+    }
+}
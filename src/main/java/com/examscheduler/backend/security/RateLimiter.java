@@ -0,0 +1,101 @@
+package com.examscheduler.backend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// token buckets kept as one atomic "theoretical arrival time" per key (the generic cell rate
+// algorithm): a request is admitted when that time, pushed forward by one emission interval, stays
+// within the burst tolerance of now, and the push is a single compare-and-set, so no bucket is
+// ever locked and no refill thread is needed
+// a bucket whose arrival time has fallen behind now is indistinguishable from a new one, which is
+// what makes dropping idle buckets safe; they are swept when the map reaches maxKeys, and keys
+// that still do not fit share one overflow bucket until the next sweep frees room
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicLong nextSweep;
+
+    // permitsPerSecond sustained, up to burst back to back
+    public RateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, System.nanoTime());
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, int maxKeys, long now) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate, burst and maxKeys must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.overflow = new AtomicLong(now);
+        this.nextSweep = new AtomicLong(now);
+    }
+
+    // 0 when admitted, otherwise the nanoseconds until the key would be admitted
+    public long tryAcquire(Object key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(Object key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = register(key, now);
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival - now, 0) + now + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos - emissionIntervalNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // what tryAcquire would answer right now, without using up a permit
+    public long peek(Object key) {
+        return peek(key, System.nanoTime());
+    }
+
+    long peek(Object key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() < maxKeys) {
+                return 0;
+            }
+            bucket = overflow;
+        }
+        return Math.max(bucket.get() - now, 0) - burstToleranceNanos;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong register(Object key, long now) {
+        if (buckets.size() >= maxKeys) {
+            sweep(now);
+            if (buckets.size() >= maxKeys) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // one thread sweeps at a time and at most once per burst window, since no bucket can go idle
+    // faster than that; a request racing a sweep may lose its update, which only errs towards admitting
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + burstToleranceNanos + emissionIntervalNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
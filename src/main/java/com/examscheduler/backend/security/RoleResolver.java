@@ -0,0 +1,31 @@
+package com.examscheduler.backend.security;
+
+import com.examscheduler.backend.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+// maps the role stored on a user row to spring security authorities and back
+// every user gets ROLE_USER, users whose row says ADMIN also get ROLE_ADMIN; roles are granted in the
+// database (update users set role = 'ADMIN' where username = ...), never by matching a username,
+// so nobody can obtain one by signing up under a particular name
+public final class RoleResolver {
+
+    private static final List<GrantedAuthority> USER = AuthorityUtils.createAuthorityList("ROLE_USER");
+    private static final List<GrantedAuthority> ADMIN = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN");
+
+    private RoleResolver() {
+    }
+
+    // rows stored before roles existed have none and are plain users
+    public static List<GrantedAuthority> authoritiesFor(User.Role role) {
+        return role == User.Role.ADMIN ? ADMIN : USER;
+    }
+
+    public static User.Role roleOf(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream().anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()))
+                ? User.Role.ADMIN : User.Role.USER;
+    }
+}
@@ -1,5 +1,7 @@
 package com.examscheduler.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,30 +12,51 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     // creates a bean for bcrypt password encoding to securely hash passwords
+    // wrapped so hashing and verification time show up in the metrics; the strength (log2 rounds)
+    // applies to new hashes, existing hashes keep verifying at the cost they were made with
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.bcrypt.strength:10}") int strength) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
     }
 
     // configures security rules for http requests
     // disables csrf protection, sets authorization rules, and enables http basic authentication
+    // when token mode is on, bearer tokens are checked ahead of http basic, which stays available
+    // admission control runs once the user is known, so rate limits apply per user
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                   AdmissionControl admissionControl) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/signup").permitAll()
+                        .requestMatchers("/api/auth/signup", "/api/auth/login").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // metrics break cache, queue and connection counts down per user, admins only
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/exams/**").authenticated()
                         .anyRequest().authenticated()
                 )
                 .httpBasic(Customizer.withDefaults());
 
+        if (tokenService.isEnabled()) {
+            http.addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class);
+        }
+        if (admissionControl.isEnabled()) {
+            // failed logins are throttled per address before any credential is checked
+            http.addFilterAfter(new AuthenticationThrottleFilter(admissionControl), SecurityContextHolderFilter.class);
+            http.addFilterAfter(new AdmissionControlFilter(admissionControl), BasicAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
@@ -0,0 +1,115 @@
+package com.examscheduler.backend.security;
+
+import com.examscheduler.backend.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// issues and verifies short-lived hmac-sha256 signed bearer tokens
+// a token is base64url("userId:expiresAtEpochSeconds:role:username") + "." + base64url(signature),
+// so verifying it needs no database access and no password hashing; a role change takes effect
+// once the tokens issued before it expire
+@Component
+public class TokenService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${auth.token.enabled:false}") boolean enabled,
+                        @Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.ttl:PT15M}") Duration ttl) {
+        this(enabled, secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(boolean enabled, String secret, Duration ttl, Clock clock) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.key = new SecretKeySpec(resolveSecret(secret), "HmacSHA256");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // signs a token for a principal whose password was just verified
+    public String issue(AuthenticatedUser principal) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        String payload = principal.getUserId() + ":" + expiresAt + ":"
+                + RoleResolver.roleOf(principal.getAuthorities()) + ":" + principal.getUsername();
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+    }
+
+    // returns the principal the token was issued for, or null if it is malformed, forged or expired
+    public AuthenticatedUser verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        String encodedPayload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encodedPayload))) {
+                return null;
+            }
+            String[] parts = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(parts[1]);
+            if (clock.instant().isAfter(Instant.ofEpochSecond(expiresAt))) {
+                return null;
+            }
+            return new AuthenticatedUser(Long.parseLong(parts[0]), parts[3], "",
+                    RoleResolver.authoritiesFor(User.Role.valueOf(parts[2])));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    // without a configured secret every restart (and every instance) gets its own random key
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret.trim());
+        if (decoded.length < 32) {
+            throw new IllegalStateException("auth.token.secret must decode to at least 32 bytes");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,92 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.repository.ExamListVersionRepository;
+import com.examscheduler.backend.repository.ExamLocationLockRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+// database row locks that serialize bookings across every instance: a user's bookings lock the
+// users row, a location's bookings lock the row of its stripe in exam_location_lock_stripes; held
+// until the writing transaction ends, so an overlap check and the insert or update after it cannot
+// interleave with another booking of the same user or location
+// locks are always taken user first and then stripes in ascending order, so writers never deadlock
+// the stripe rows are created once at startup, so taking a lock never inserts a row and never needs
+// a second connection next to the writing transaction's; two locations sharing a stripe only ever
+// wait for each other
+@Component
+public class ExamBookingLocks {
+
+    static final int LOCATION_STRIPES = 1024;
+
+    private static final int CREATE_ATTEMPTS = 3;
+
+    private final ExamListVersionRepository versionRepository;
+    private final ExamLocationLockRepository locationLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExamBookingLocks(ExamListVersionRepository versionRepository,
+                            ExamLocationLockRepository locationLockRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.versionRepository = versionRepository;
+        this.locationLockRepository = locationLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // instances starting together may both create the missing rows, the one losing the race retries
+    // and finds them there
+    @PostConstruct
+    void createStripes() {
+        for (int attempt = 1; attempt <= CREATE_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<Integer> existing = new HashSet<>(locationLockRepository.findAllStripes());
+                    for (int stripe = 0; stripe < LOCATION_STRIPES; stripe++) {
+                        if (!existing.contains(stripe)) {
+                            locationLockRepository.create(stripe);
+                        }
+                    }
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == CREATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // must be called inside the transaction that writes the bookings; blank locations are ignored
+    public void lock(Long userId, Collection<String> locations) {
+        versionRepository.lockUser(userId);
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (String location : locations) {
+            if (location != null && !location.isBlank()) {
+                stripes.add(stripe(normalize(location)));
+            }
+        }
+        for (int stripe : stripes) {
+            if (locationLockRepository.lock(stripe).isEmpty()) {
+                throw new IllegalStateException("Location lock stripe " + stripe + " is missing");
+            }
+        }
+    }
+
+    // the form locations are compared in: surrounding whitespace and case are ignored
+    public static String normalize(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // String.hashCode is fixed by the language, so every instance maps a location to the same stripe
+    static int stripe(String normalizedLocation) {
+        return Math.floorMod(normalizedLocation.hashCode(), LOCATION_STRIPES);
+    }
+}
@@ -0,0 +1,17 @@
+package com.examscheduler.backend.service;
+
+import java.util.Set;
+
+// published by the exam write paths once for every change to a user's exams
+// examId is null for bulk changes that touched many exams at once; a bulk change that put exams at
+// locations the user may not have booked before (relocate, import) lists them in bookedLocations
+public record ExamChangedEvent(Type type, Long userId, Long examId, Set<String> bookedLocations) {
+
+    public ExamChangedEvent(Type type, Long userId, Long examId) {
+        this(type, userId, examId, Set.of());
+    }
+
+    public enum Type {
+        ADDED, UPDATED, DELETED, BULK
+    }
+}
@@ -0,0 +1,257 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ConflictResponse;
+import com.examscheduler.backend.dto.ConflictResponse.ConflictingExam;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.repository.ExamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// finds exams overlapping a time slot, for the same user or at the same location
+// a check followed by a write reads the database with the user and the location locked (see
+// ExamBookingLocks), so two concurrent bookings can never both pass it, on any instance
+// the advisory check behind /conflicts is answered from per-user and per-location interval
+// indexes instead: loaded on first use, kept current from committed exam changes and bounded
+// in number, least recently used first out
+@Service
+public class ExamConflictService {
+
+    // longest exam a request can store (the @Max on request durations), so every exam overlapping
+    // an interval starts at most this long before the interval does
+    static final int LONGEST_EXAM_MINUTES = 24 * 60;
+
+    private final ExamRepository examRepository;
+    private final ExamBookingLocks bookingLocks;
+
+    private final IndexCache<Long, IntervalIndex> byUser;
+    private final IndexCache<String, IntervalIndex> byLocation;
+
+    @Autowired
+    public ExamConflictService(ExamRepository examRepository, ExamBookingLocks bookingLocks,
+                               @Value("${exams.conflicts.max-users:10000}") int maxUsers,
+                               @Value("${exams.conflicts.max-locations:1000}") int maxLocations) {
+        this.examRepository = examRepository;
+        this.bookingLocks = bookingLocks;
+        this.byUser = new IndexCache<>(maxUsers);
+        this.byLocation = new IndexCache<>(maxLocations);
+    }
+
+    // conflicts for a prospective exam of the given user; excludeId is the exam being edited, if any
+    // answered from memory, for showing to the user; writes check with lockAndFindConflicts
+    public ConflictResponse findConflicts(Long userId, LocalDateTime start, Integer durationMinutes,
+                                          String location, Long excludeId) {
+        LocalDateTime end = endOf(start, durationMinutes);
+        List<ExamSlot> own = userIndex(userId).overlapping(start, end, excludeId);
+        List<ExamSlot> booked = isBlank(location) ? List.of()
+                : locationIndex(location).overlapping(start, end, excludeId);
+        return response(userId, own, booked);
+    }
+
+    // the same check read from the database once the user and the location are locked until the
+    // calling transaction ends; must be called inside the transaction that then stores the exam
+    public ConflictResponse lockAndFindConflicts(Long userId, LocalDateTime start, Integer durationMinutes,
+                                                 String location, Long excludeId) {
+        bookingLocks.lock(userId, isBlank(location) ? List.of() : List.of(location));
+        LocalDateTime end = endOf(start, durationMinutes);
+        LocalDateTime from = start.minusMinutes(LONGEST_EXAM_MINUTES);
+        List<ExamSlot> own = overlapping(examRepository.findSlotsByUserIdStartingBetween(userId, from, end),
+                start, end, excludeId);
+        List<ExamSlot> booked = isBlank(location) ? List.of()
+                : overlapping(examRepository.findSlotsByLocationStartingBetween(
+                        ExamBookingLocks.normalize(location), from, end), start, end, excludeId);
+        return response(userId, own, booked);
+    }
+
+    // locks the user and the given locations until the calling transaction ends and reads their
+    // bookings between from and to, for checking several prospective exams inside that range at once
+    Bookings lockAndLoad(Long userId, Collection<String> locations, LocalDateTime from, LocalDateTime to) {
+        bookingLocks.lock(userId, locations);
+        LocalDateTime earliest = from.minusMinutes(LONGEST_EXAM_MINUTES);
+        Bookings bookings = new Bookings(userId, load(examRepository.findSlotsByUserIdStartingBetween(userId, earliest, to)));
+        for (String location : locations) {
+            if (!isBlank(location)) {
+                bookings.byLocation.computeIfAbsent(ExamBookingLocks.normalize(location), key -> load(
+                        examRepository.findSlotsByLocationStartingBetween(key, earliest, to)));
+            }
+        }
+        return bookings;
+    }
+
+    // the check for exams moved together by one bulk statement: locks the user, reads the exams the
+    // statement will change, then locks every location they leave or enter and reads the bookings
+    // around their new intervals; returns the moved exams, at their new interval, that would overlap
+    // another booking of their location (exams moved there by the same statement included) or, with
+    // checkOwn, another exam of the user the statement leaves where it is
+    // must be called inside the transaction that then runs the statement, which the locks are held for
+    public List<ExamSlot> lockAndFindMoveConflicts(Long userId, Supplier<List<ExamSlot>> matching,
+                                                   UnaryOperator<ExamSlot> move, boolean checkOwn) {
+        bookingLocks.lock(userId, List.of());
+        List<ExamSlot> current = matching.get();
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        List<ExamSlot> moved = current.stream().map(move).toList();
+        Set<String> locations = new HashSet<>();
+        current.forEach(slot -> locations.add(slot.location()));
+        moved.forEach(slot -> locations.add(slot.location()));
+        locations.remove(null);
+        LocalDateTime from = moved.stream().map(ExamSlot::start).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime to = moved.stream().map(ExamSlot::end).max(LocalDateTime::compareTo).orElseThrow();
+        return lockAndLoad(userId, locations, from, to).findMoveConflicts(moved, checkOwn);
+    }
+
+    // keeps the loaded indexes in step with committed changes; single-exam changes re-read that one row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamChanged(ExamChangedEvent event) {
+        switch (event.type()) {
+            case ADDED -> examRepository.findSlotById(event.examId()).ifPresent(this::add);
+            case UPDATED -> {
+                remove(event.userId(), event.examId());
+                examRepository.findSlotById(event.examId()).ifPresent(this::add);
+            }
+            case DELETED -> remove(event.userId(), event.examId());
+            case BULK -> {
+                // the user's index, every location index holding one of the user's exams and any
+                // location the change booked into are rebuilt on their next check
+                byUser.invalidate(event.userId());
+                byLocation.invalidateIf(index -> index.holdsExamsOf(event.userId()));
+                for (String location : event.bookedLocations()) {
+                    byLocation.invalidate(ExamBookingLocks.normalize(location));
+                }
+            }
+        }
+    }
+
+    public static LocalDateTime endOf(LocalDateTime start, Integer durationMinutes) {
+        return start.plusMinutes(durationMinutes != null ? durationMinutes : Exam.DEFAULT_DURATION_MINUTES);
+    }
+
+    private void add(ExamSlot slot) {
+        byUser.changed(slot.userId(), index -> index.add(slot));
+        if (!isBlank(slot.location())) {
+            byLocation.changed(ExamBookingLocks.normalize(slot.location()), index -> index.add(slot));
+        }
+    }
+
+    // the exam's old location is read off the user's index; without one every location index is checked
+    private void remove(Long userId, Long examId) {
+        IntervalIndex users = byUser.getIfLoaded(userId);
+        ExamSlot old = users != null ? users.get(examId) : null;
+        byUser.changed(userId, index -> index.remove(examId));
+        if (old == null) {
+            byLocation.changedAnywhere(index -> index.remove(examId));
+        } else if (!isBlank(old.location())) {
+            byLocation.changed(ExamBookingLocks.normalize(old.location()), index -> index.remove(examId));
+        }
+    }
+
+    private IntervalIndex userIndex(Long userId) {
+        return byUser.get(userId, () -> load(examRepository.findSlotsByUserId(userId)));
+    }
+
+    private IntervalIndex locationIndex(String location) {
+        String key = ExamBookingLocks.normalize(location);
+        return byLocation.get(key, () -> load(examRepository.findSlotsByLocation(key)));
+    }
+
+    private static IntervalIndex load(List<ExamSlot> slots) {
+        IntervalIndex index = new IntervalIndex();
+        for (ExamSlot slot : slots) {
+            index.add(slot);
+        }
+        return index;
+    }
+
+    private static List<ExamSlot> overlapping(List<ExamSlot> candidates, LocalDateTime start, LocalDateTime end,
+                                              Long excludeId) {
+        return candidates.stream()
+                .filter(slot -> slot.overlaps(start, end) && !slot.id().equals(excludeId))
+                .toList();
+    }
+
+    // other users' bookings are reported without their id or subject
+    private static ConflictResponse response(Long userId, List<ExamSlot> own, List<ExamSlot> booked) {
+        List<ConflictingExam> userConflicts = own.stream()
+                .map(slot -> new ConflictingExam(slot.id(), slot.subject(), slot.start(), slot.end(), slot.location()))
+                .toList();
+        List<ConflictingExam> locationConflicts = booked.stream()
+                .map(slot -> slot.userId().equals(userId)
+                        ? new ConflictingExam(slot.id(), slot.subject(), slot.start(), slot.end(), slot.location())
+                        : new ConflictingExam(null, null, slot.start(), slot.end(), slot.location()))
+                .toList();
+        return new ConflictResponse(userConflicts, locationConflicts);
+    }
+
+    private static boolean isBlank(String location) {
+        return location == null || location.isBlank();
+    }
+
+    // bookings of one user and some locations, read under their locks by lockAndLoad; exams accepted
+    // for the same write are added so they are checked against each other as well
+    static final class Bookings {
+
+        private final Long userId;
+        private final IntervalIndex own;
+        private final Map<String, IntervalIndex> byLocation = new HashMap<>();
+
+        private Bookings(Long userId, IntervalIndex own) {
+            this.userId = userId;
+            this.own = own;
+        }
+
+        ConflictResponse findConflicts(LocalDateTime start, Integer durationMinutes, String location) {
+            LocalDateTime end = endOf(start, durationMinutes);
+            IntervalIndex booked = isBlank(location) ? null : byLocation.get(ExamBookingLocks.normalize(location));
+            return response(userId, own.overlapping(start, end, null),
+                    booked == null ? List.of() : booked.overlapping(start, end, null));
+        }
+
+        // the moved exams are taken out of the location bookings first, then checked one by one at
+        // their new interval and put back there, so they are checked against each other's new places
+        List<ExamSlot> findMoveConflicts(List<ExamSlot> moved, boolean checkOwn) {
+            Set<Long> movedIds = new HashSet<>();
+            moved.forEach(slot -> movedIds.add(slot.id()));
+            for (IntervalIndex booked : byLocation.values()) {
+                movedIds.forEach(booked::remove);
+            }
+            List<ExamSlot> conflicting = new ArrayList<>();
+            for (ExamSlot slot : moved) {
+                boolean clash = checkOwn && own.overlapping(slot.start(), slot.end(), null).stream()
+                        .anyMatch(other -> !movedIds.contains(other.id()));
+                IntervalIndex booked = isBlank(slot.location()) ? null
+                        : byLocation.get(ExamBookingLocks.normalize(slot.location()));
+                if (booked != null) {
+                    clash |= !booked.overlapping(slot.start(), slot.end(), null).isEmpty();
+                    booked.add(slot);
+                }
+                if (clash) {
+                    conflicting.add(slot);
+                }
+            }
+            return conflicting;
+        }
+
+        void add(ExamSlot slot) {
+            own.add(slot);
+            IntervalIndex booked = isBlank(slot.location()) ? null
+                    : byLocation.get(ExamBookingLocks.normalize(slot.location()));
+            if (booked != null) {
+                booked.add(slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.examscheduler.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// fans committed exam changes out to each user's open server-sent event connections
+// an idle connection is just an async servlet request plus a small bounded queue, no thread is
+// parked on it; a virtual thread is started only while a connection has events to write, and a
+// connection whose queue fills up (a slow or stalled client) is closed instead of buffering more
+@Component
+public class ExamEventHub {
+
+    // queued to every connection periodically so dead clients are noticed and proxies keep the line open
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "exam-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxConnections;
+
+    @Autowired
+    public ExamEventHub(@Value("${exams.stream.timeout:PT30M}") Duration timeout,
+                        @Value("${exams.stream.buffer-size:32}") int bufferSize,
+                        @Value("${exams.stream.max-connections:50000}") int maxConnections,
+                        @Value("${exams.stream.heartbeat:PT30S}") Duration heartbeat) {
+        this(timeout, bufferSize, maxConnections, heartbeat, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // writers run the per-connection drains, tests pass one they can hold up
+    ExamEventHub(Duration timeout, int bufferSize, int maxConnections, Duration heartbeat, ExecutorService writers) {
+        this.writers = writers;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // opens a stream of the given user's exam changes
+    public SseEmitter subscribe(Long userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open exam streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // added under the map's lock for the user, so it cannot land in a set that remove is dropping
+        subscriptions.compute(userId, (key, userSubscriptions) -> {
+            Set<Subscription> updated = userSubscriptions != null ? userSubscriptions : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamChanged(ExamChangedEvent event) {
+        Set<Subscription> userSubscriptions = subscriptions.get(event.userId());
+        if (userSubscriptions != null) {
+            for (Subscription subscription : userSubscriptions) {
+                enqueue(subscription, event);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(s -> s.emitter.complete()));
+        writers.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscription> userSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : userSubscriptions) {
+                enqueue(subscription, HEARTBEAT);
+            }
+        }
+    }
+
+    private void enqueue(Subscription subscription, Object message) {
+        if (!subscription.queue.offer(message)) {
+            // the client is not keeping up: close it rather than grow its buffer, it can reconnect
+            dropped.incrementAndGet();
+            remove(subscription);
+            subscription.emitter.complete();
+            return;
+        }
+        if (subscription.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscription));
+        }
+    }
+
+    // a single writer per connection at a time, so events reach the client in order
+    private void drain(Subscription subscription) {
+        try {
+            Object message;
+            while ((message = subscription.queue.poll()) != null) {
+                if (message == HEARTBEAT) {
+                    subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    ExamChangedEvent event = (ExamChangedEvent) message;
+                    subscription.emitter.send(SseEmitter.event()
+                            .name(event.type().name().toLowerCase(Locale.ROOT))
+                            .data(Map.of("type", event.type().name(), "examId", event.examId() == null ? "" : event.examId()),
+                                    MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscription);
+            subscription.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscription.draining.set(false);
+        }
+        // an event may have arrived between the last poll and releasing the flag
+        if (!subscription.queue.isEmpty() && subscription.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscription));
+        }
+    }
+
+    // removes the subscription and drops the user's set once empty, both under the map's lock for the
+    // user; counted once however many of the emitter's callbacks end up here
+    private void remove(Subscription subscription) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscriptions.computeIfPresent(subscription.userId, (key, userSubscriptions) -> {
+            removed.set(userSubscriptions.remove(subscription));
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+        if (removed.get()) {
+            connections.decrementAndGet();
+        }
+    }
+
+    private static final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscription(Long userId, SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
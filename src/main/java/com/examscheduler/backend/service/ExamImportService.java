@@ -0,0 +1,297 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.dto.BulkImportResponse;
+import com.examscheduler.backend.dto.BulkImportResponse.RowError;
+import com.examscheduler.backend.dto.ConflictResponse;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.exception.BadRequestException;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.security.CurrentUserResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+public class ExamImportService {
+
+    // largest upload accepted in one request
+    public static final int MAX_ROWS = 20_000;
+
+    // rows persisted per transaction, a multiple of hibernate.jdbc.batch_size
+    private static final int CHUNK_SIZE = 500;
+
+    private static final List<String> CSV_HEADER = List.of("subject", "examdate", "examtime", "location");
+
+    // the same header with the optional trailing duration column
+    private static final List<String> CSV_HEADER_WITH_DURATION =
+            List.of("subject", "examdate", "examtime", "location", "durationminutes");
+
+    private final ExamRepository examRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final ExamConflictService conflictService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rejectOwnOverlaps;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ExamImportService(ExamRepository examRepository, UserRepository userRepository,
+                             CurrentUserResolver currentUserResolver, ExamConflictService conflictService,
+                             Validator validator, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${exams.import.reject-own-overlaps:false}") boolean rejectOwnOverlaps) {
+        this.examRepository = examRepository;
+        this.userRepository = userRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.conflictService = conflictService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rejectOwnOverlaps = rejectOwnOverlaps;
+    }
+
+    // validates every row, then stores the valid ones for the current user in one transaction:
+    // either every valid row is imported or, if the insert fails, none is
+    // the user and every location in the upload stay locked from the conflict checks until the rows
+    // are stored, and the checks read the bookings from the database under those locks
+    // a row is refused when its location is already booked at that time; overlapping the uploader's
+    // own exams is allowed by default, since a registrar uploading a term's timetable owns every
+    // parallel sitting, and refused with exams.import.reject-own-overlaps=true
+    public BulkImportResponse importExams(List<AddExamRequest> rows) {
+        return importExams(rows, rejectOwnOverlaps);
+    }
+
+    // stores a solved timetable the same way; its rows are parallel sittings of the caller's by
+    // design, so only location clashes are refused whatever exams.import.reject-own-overlaps says
+    public BulkImportResponse importTimetable(List<AddExamRequest> rows) {
+        return importExams(rows, false);
+    }
+
+    private BulkImportResponse importExams(List<AddExamRequest> rows, boolean rejectOwnOverlaps) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BadRequestException("No exams to import");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new BadRequestException("At most " + MAX_ROWS + " exams can be imported at once");
+        }
+
+        Long userId = currentUserResolver.currentUserId();
+        List<RowError> errors = new ArrayList<>();
+        List<AddExamRequest> checked = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            AddExamRequest row = rows.get(i);
+            if (row == null) {
+                errors.add(new RowError(i + 1, List.of("Row is empty")));
+                checked.add(null);
+                continue;
+            }
+            Set<ConstraintViolation<AddExamRequest>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                errors.add(new RowError(i + 1, violations.stream().map(ConstraintViolation::getMessage).sorted().toList()));
+                checked.add(null);
+                continue;
+            }
+            checked.add(row);
+        }
+
+        List<AddExamRequest> candidates = checked.stream().filter(Objects::nonNull).toList();
+        if (candidates.isEmpty()) {
+            return new BulkImportResponse(0, errors);
+        }
+        LocalDateTime from = candidates.stream().map(ExamImportService::startOf).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime to = candidates.stream().map(row -> ExamConflictService.endOf(startOf(row), row.getDurationMinutes()))
+                .max(LocalDateTime::compareTo).orElseThrow();
+        Set<String> locations = new HashSet<>();
+        candidates.forEach(row -> locations.add(row.getLocation()));
+
+        return transactionTemplate.execute(status -> {
+            ExamConflictService.Bookings bookings = conflictService.lockAndLoad(userId, locations, from, to);
+            List<AddExamRequest> valid = new ArrayList<>(candidates.size());
+            for (int i = 0; i < checked.size(); i++) {
+                AddExamRequest row = checked.get(i);
+                if (row == null) {
+                    continue;
+                }
+                LocalDateTime start = startOf(row);
+                ConflictResponse conflicts = bookings.findConflicts(start, row.getDurationMinutes(), row.getLocation());
+                if (rejectOwnOverlaps && !conflicts.getUserConflicts().isEmpty()) {
+                    errors.add(new RowError(i + 1, List.of("Exam overlaps another of your exams")));
+                } else if (!conflicts.getLocationConflicts().isEmpty()) {
+                    errors.add(new RowError(i + 1, List.of("Location is already booked at that time")));
+                } else {
+                    // rows accepted so far in this upload, so they are checked against each other as well
+                    bookings.add(new ExamSlot((long) -(i + 1), userId, row.getSubject(), start,
+                            ExamConflictService.endOf(start, row.getDurationMinutes()), row.getLocation()));
+                    valid.add(row);
+                }
+            }
+            errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+            return new BulkImportResponse(persist(valid, userId, locations), errors);
+        });
+    }
+
+    private static LocalDateTime startOf(AddExamRequest row) {
+        return LocalDateTime.of(row.getExamDate(), row.getExamTime());
+    }
+
+    // parses a csv upload with a subject,examDate,examTime,location header and imports it; a
+    // trailing durationMinutes column is optional, and a blank one falls back to the default length
+    public BulkImportResponse importExamsCsv(String csv) {
+        if (csv == null || csv.isBlank()) {
+            throw new BadRequestException("No exams to import");
+        }
+
+        List<List<String>> records = parseCsv(csv);
+        List<String> header = records.get(0).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!header.equals(CSV_HEADER) && !header.equals(CSV_HEADER_WITH_DURATION)) {
+            throw new BadRequestException("CSV header must be: subject,examDate,examTime,location[,durationMinutes]");
+        }
+
+        // rows that cannot be parsed are reported with the same numbering as validation errors
+        List<AddExamRequest> rows = new ArrayList<>();
+        List<RowError> parseErrors = new ArrayList<>();
+        for (int i = 1; i < records.size(); i++) {
+            List<String> columns = records.get(i);
+            if (columns.size() == 1 && columns.get(0).isBlank()) {
+                continue;
+            }
+            int rowNumber = rows.size() + 1;
+            if (columns.size() != header.size()) {
+                parseErrors.add(new RowError(rowNumber,
+                        List.of("Expected " + header.size() + " columns but found " + columns.size())));
+                rows.add(null);
+                continue;
+            }
+            try {
+                AddExamRequest row = new AddExamRequest(
+                        blankToNull(columns.get(0)),
+                        columns.get(1).isBlank() ? null : LocalDate.parse(columns.get(1).trim()),
+                        columns.get(2).isBlank() ? null : LocalTime.parse(columns.get(2).trim()),
+                        blankToNull(columns.get(3)));
+                if (columns.size() > CSV_HEADER.size() && !columns.get(4).isBlank()) {
+                    row.setDurationMinutes(Integer.valueOf(columns.get(4).trim()));
+                }
+                rows.add(row);
+            } catch (DateTimeParseException e) {
+                parseErrors.add(new RowError(rowNumber, List.of("Invalid date or time: " + e.getParsedString())));
+                rows.add(null);
+            } catch (NumberFormatException e) {
+                parseErrors.add(new RowError(rowNumber, List.of("Invalid duration: " + columns.get(4).trim())));
+                rows.add(null);
+            }
+        }
+
+        if (rows.isEmpty()) {
+            throw new BadRequestException("No exams to import");
+        }
+        BulkImportResponse result = importExams(rows);
+
+        // parse failures replace the generic "row is empty" message for the same rows
+        List<RowError> errors = new ArrayList<>(parseErrors);
+        for (RowError error : result.getErrors()) {
+            if (rows.get(error.getRow() - 1) != null) {
+                errors.add(error);
+            }
+        }
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return new BulkImportResponse(result.getImported(), errors);
+    }
+
+    // runs inside the import's transaction; the persistence context is flushed and cleared every
+    // chunk so memory stays flat, and the pooled sequence lets each flush go out as jdbc batches;
+    // the bulk event is published inside the transaction so the list version is bumped in the same commit
+    private int persist(List<AddExamRequest> rows, Long userId, Set<String> locations) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            User user = userRepository.getReferenceById(userId);
+            List<Exam> exams = new ArrayList<>(CHUNK_SIZE);
+            for (AddExamRequest row : rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()))) {
+                exams.add(ExamService.newExam(row, user));
+            }
+            examRepository.saveAll(exams);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        eventPublisher.publishEvent(new ExamChangedEvent(ExamChangedEvent.Type.BULK, userId, null, locations));
+        return rows.size();
+    }
+
+    private static String blankToNull(String value) {
+        return value.isBlank() ? null : value.trim();
+    }
+
+    // splits a csv upload into records of fields, honouring double-quoted fields with "" as an
+    // escaped quote; a quoted field may span lines, so records are found while parsing the fields
+    static List<List<String>> parseCsv(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                // \r\n ends one record, not two
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                columns.add(current.toString());
+                current.setLength(0);
+                records.add(columns);
+                columns = new ArrayList<>();
+            } else {
+                current.append(c);
+            }
+        }
+        if (!columns.isEmpty() || current.length() > 0) {
+            columns.add(current.toString());
+            records.add(columns);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,234 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// trigram inverted index over one user's exam subjects and locations
+// words are padded the way pg_trgm pads them ("  al", " alg", ..., "ra "), so a two-letter word
+// prefix still shares grams with the word; candidates are the exams sharing any gram with the
+// query and are ranked by whole-word prefix, then substring, then word similarity (the share of
+// the query's grams found in the field, like pg_trgm's word_similarity), which keeps a typo or
+// two within reach; short queries that form no useful gram fall back to a
+// substring scan of the user's exams
+class ExamSearchIndex {
+
+    // pg_trgm's default word similarity threshold
+    static final double SIMILARITY_THRESHOLD = 0.6;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparing(match -> match.exam().examDate())
+            .thenComparing(match -> match.exam().id());
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Document(ExamSummary exam, String subject, String location,
+                            Set<String> subjectGrams, Set<String> locationGrams) {
+    }
+
+    private record Match(ExamSummary exam, double score) {
+    }
+
+    void put(ExamSummary exam) {
+        String subject = normalize(exam.subject());
+        String location = normalize(exam.location());
+        Document document = new Document(exam, subject, location, trigrams(subject), trigrams(location));
+        lock.writeLock().lock();
+        try {
+            removeLocked(exam.id());
+            documents.put(exam.id(), document);
+            for (String gram : document.subjectGrams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(exam.id());
+            }
+            for (String gram : document.locationGrams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(exam.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long examId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(examId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // best matches first, ties broken by exam date
+    List<ExamSummary> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> queryGrams = trigrams(normalized);
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < 3) {
+                for (Document document : documents.values()) {
+                    score(document, normalized, queryGrams, matches);
+                }
+            } else {
+                // a substring match contains every gram that lies inside a query word and a fuzzy
+                // match shares at least the threshold share of grams; an exam sharing `required`
+                // of the k query grams must appear in one of the k - required + 1 rarest postings,
+                // so only those are walked and the common grams are never scanned
+                int required = Math.max(1, Math.min(interiorGrams(queryGrams),
+                        (int) Math.ceil(SIMILARITY_THRESHOLD * queryGrams.size())));
+                List<Set<Long>> lists = new ArrayList<>();
+                for (String gram : queryGrams) {
+                    lists.add(postings.getOrDefault(gram, Set.of()));
+                }
+                lists.sort(Comparator.comparingInt(Set::size));
+                Set<Long> candidates = new HashSet<>();
+                for (int i = 0; i < lists.size() - required + 1; i++) {
+                    candidates.addAll(lists.get(i));
+                }
+                for (Long id : candidates) {
+                    score(documents.get(id), normalized, queryGrams, matches);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // keep the best `limit` in a heap whose head is the worst of them, instead of sorting every match
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Match match : matches) {
+            best.add(match);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.stream().map(Match::exam).toList();
+    }
+
+    private static void score(Document document, String query, Set<String> queryGrams, List<Match> matches) {
+        double score = Math.max(fieldScore(document.subject(), document.subjectGrams(), query, queryGrams),
+                fieldScore(document.location(), document.locationGrams(), query, queryGrams));
+        if (score > 0) {
+            matches.add(new Match(document.exam(), score));
+        }
+    }
+
+    // 2 + similarity for a prefix of a word, 1 + similarity for any other substring, the bare
+    // similarity when it reaches the threshold and 0 otherwise
+    private static double fieldScore(String field, Set<String> fieldGrams, String query, Set<String> queryGrams) {
+        double similarity = wordSimilarity(queryGrams, fieldGrams);
+        int at = field.indexOf(query);
+        if (at >= 0) {
+            boolean wordStart = at == 0 || field.charAt(at - 1) == ' ';
+            return (wordStart ? 2 : 1) + similarity;
+        }
+        return similarity >= SIMILARITY_THRESHOLD ? similarity : 0;
+    }
+
+    private static int interiorGrams(Set<String> grams) {
+        int interior = 0;
+        for (String gram : grams) {
+            if (gram.indexOf(' ') < 0) {
+                interior++;
+            }
+        }
+        return interior;
+    }
+
+    // share of the query's grams that also occur in the field
+    static double wordSimilarity(Set<String> queryGrams, Set<String> fieldGrams) {
+        if (queryGrams.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String gram : queryGrams) {
+            if (fieldGrams.contains(gram)) {
+                shared++;
+            }
+        }
+        return (double) shared / queryGrams.size();
+    }
+
+    static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    // lower case, letters and digits only, single spaces between words
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                normalized.appendCodePoint(Character.toLowerCase(codePoint));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+
+    private void removeLocked(Long examId) {
+        Document previous = documents.remove(examId);
+        if (previous == null) {
+            return;
+        }
+        unpost(previous.subjectGrams(), examId);
+        unpost(previous.locationGrams(), examId);
+    }
+
+    private void unpost(Set<String> grams, Long examId) {
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(examId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+}
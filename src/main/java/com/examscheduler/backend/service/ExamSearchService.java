@@ -0,0 +1,81 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.exception.BadRequestException;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.security.CurrentUserResolver;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+// prefix, substring and typo-tolerant search over the current user's exam subjects and locations
+// each user's trigram index is built from one projection query on their first search and then
+// kept current from committed exam changes: single-exam changes re-read that one row, bulk
+// changes drop the index so the next search rebuilds it; at most max-users indexes are kept
+@Service
+@Timed(value = "app.service", histogram = true)
+public class ExamSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_QUERY_LENGTH = 100;
+
+    private final ExamRepository examRepository;
+    private final CurrentUserResolver currentUserResolver;
+
+    // bounded, least recently used first out; a build that overlapped a change is used once but not kept
+    private final IndexCache<Long, ExamSearchIndex> byUser;
+
+    public ExamSearchService(ExamRepository examRepository, CurrentUserResolver currentUserResolver,
+                             @Value("${exams.search.max-users:10000}") int maxUsers) {
+        this.examRepository = examRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.byUser = new IndexCache<>(maxUsers);
+    }
+
+    public List<ExamSummary> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query cannot be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query cannot exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return userIndex(currentUserResolver.currentUserId()).search(query, size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamChanged(ExamChangedEvent event) {
+        Long userId = event.userId();
+        if (!byUser.recordChange(userId)) {
+            return;
+        }
+        switch (event.type()) {
+            case ADDED, UPDATED -> {
+                Optional<ExamSummary> exam = examRepository.findSummaryByIdAndUserId(event.examId(), userId);
+                byUser.changed(userId, index -> exam.ifPresentOrElse(index::put, () -> index.remove(event.examId())));
+            }
+            case DELETED -> byUser.changed(userId, index -> index.remove(event.examId()));
+            case BULK -> byUser.invalidate(userId);
+        }
+    }
+
+    // drops every index, they are rebuilt lazily on the next search
+    public void invalidateAll() {
+        byUser.invalidateAll();
+    }
+
+    private ExamSearchIndex userIndex(Long userId) {
+        return byUser.get(userId, () -> {
+            ExamSearchIndex index = new ExamSearchIndex();
+            for (ExamSummary exam : examRepository.findSummariesByUserId(userId)) {
+                index.put(exam);
+            }
+            return index;
+        });
+    }
+}
@@ -1,138 +1,462 @@
 package com.examscheduler.backend.service;
 
 import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.dto.BulkExamRequest;
+import com.examscheduler.backend.dto.BulkUpdateResponse;
+import com.examscheduler.backend.dto.ConflictResponse;
+import com.examscheduler.backend.dto.ExamPageResponse;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.dto.ExamSummary;
 import com.examscheduler.backend.dto.UpdateExamRequest;
 import com.examscheduler.backend.entity.Exam;
 import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.exception.BadRequestException;
+import com.examscheduler.backend.repository.ExamPartitionMaintenance;
 import com.examscheduler.backend.repository.ExamRepository;
 import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.security.CurrentUserResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.Optional;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class ExamService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int DEFAULT_UPCOMING_LIMIT = 5;
+
+    // open bounds used when the client leaves the date range or cursor empty
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    // furthest a bulk reschedule may move exams in either direction
+    private static final long MAX_SHIFT_MINUTES = Duration.ofDays(366).toMinutes();
+
+    // ical local (floating) and utc timestamp formats
+    private static final DateTimeFormatter ICAL_LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICAL_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
     private final ExamRepository examRepository;
     private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final ExamConflictService conflictService;
+    private final ExamVersionTracker versionTracker;
+    private final NextExamCache nextExamCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExamPartitionMaintenance partitions;
+    private final ObjectWriter exportWriter;
 
     @Autowired
-    public ExamService(ExamRepository examRepository, UserRepository userRepository) {
+    public ExamService(ExamRepository examRepository, UserRepository userRepository,
+                       CurrentUserResolver currentUserResolver, ExamConflictService conflictService,
+                       ExamVersionTracker versionTracker, NextExamCache nextExamCache,
+                       ApplicationEventPublisher eventPublisher, ExamPartitionMaintenance partitions,
+                       ObjectMapper objectMapper) {
         this.examRepository = examRepository;
         this.userRepository = userRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.conflictService = conflictService;
+        this.versionTracker = versionTracker;
+        this.nextExamCache = nextExamCache;
+        this.eventPublisher = eventPublisher;
+        this.partitions = partitions;
+        this.exportWriter = objectMapper.writerFor(ExamSummary.class);
+    }
+
+    // version stamp of the current user's exam list, answers conditional gets without a query
+    // with partitioning on, listings default to the current term, so a new term changes them without
+    // any write; the term start is folded into the stamp to make the old one stop matching
+    public ExamVersionTracker.Stamp currentVersion() {
+        ExamVersionTracker.Stamp stamp = versionTracker.current(currentUserResolver.currentUserId());
+        if (!partitions.isEnabled()) {
+            return stamp;
+        }
+        LocalDateTime termStart = partitions.currentTermStart();
+        Instant termStartedAt = termStart.atZone(ZoneId.systemDefault()).toInstant();
+        Instant lastModified = stamp.lastModified().isAfter(termStartedAt) ? stamp.lastModified() : termStartedAt;
+        return new ExamVersionTracker.Stamp(stamp.version(), stamp.etag() + "-" + termStart.toLocalDate(), lastModified);
     }
 
     // adds a new exam for the currently authenticated user
+    // one transaction, so the exam and the bumped list version commit together, and the user and
+    // location stay locked from the conflict check until the exam is stored
+    @Transactional
     public void addExam(AddExamRequest request) {
-        // get the current authenticated user's username
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName();
-        Optional<User> optionalUser = userRepository.findByUsername(currentUsername);
+        Long userId = currentUserResolver.currentUserId();
+        LocalDateTime examDate = LocalDateTime.of(request.getExamDate(), request.getExamTime());
+        rejectConflicts(conflictService.lockAndFindConflicts(userId, examDate, request.getDurationMinutes(),
+                request.getLocation(), null));
+
+        // reference the current user by id straight from the principal, no users select needed
+        User user = userRepository.getReferenceById(userId);
+
+        // create a new exam and save it to the database
+        Exam saved = examRepository.save(newExam(request, user));
+        eventPublisher.publishEvent(new ExamChangedEvent(ExamChangedEvent.Type.ADDED, userId, saved.getId()));
+    }
 
-        // throw an exception if the user is not found
-        if(optionalUser.isEmpty()) {
-            throw new UsernameNotFoundException("User not found: " + currentUsername);
+    // lists the current user's exams and the location bookings a prospective exam would overlap
+    public ConflictResponse checkConflicts(LocalDateTime examDate, Integer durationMinutes, String location, Long excludeId) {
+        return conflictService.findConflicts(currentUserResolver.currentUserId(), examDate, durationMinutes,
+                location, excludeId);
+    }
+
+    private static void rejectConflicts(ConflictResponse conflicts) {
+        if (!conflicts.getUserConflicts().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Exam overlaps another of your exams");
         }
-        User user = optionalUser.get();
+        if (!conflicts.getLocationConflicts().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Location is already booked at that time");
+        }
+    }
 
-        // create a new exam and set its fields
+    private static void rejectMoveConflicts(List<ExamSlot> conflicting) {
+        if (!conflicting.isEmpty()) {
+            ExamSlot first = conflicting.get(0);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflicting.size()
+                    + " of the matched exams would overlap another booking, the first at " + first.start()
+                    + " in " + first.location() + "; nothing was changed");
+        }
+    }
+
+    // maps a validated add request onto a new exam owned by the given user
+    public static Exam newExam(AddExamRequest request, User user) {
         Exam exam = new Exam();
         exam.setSubject(request.getSubject());
         exam.setExamDate(
                 LocalDateTime.of(request.getExamDate(), request.getExamTime())
         );
         exam.setLocation(request.getLocation());
+        exam.setDurationMinutes(request.getDurationMinutes());
         exam.setUser(user);
+        return exam;
+    }
+
+    // retrieves the exams of the currently authenticated user; with partitioning on they start at the
+    // current term unless includePast is set, so only the recent partitions are read
+    // read-only transactions like this one are served by a read replica when replicas are configured
+    @Transactional(readOnly = true)
+    public List<ExamSummary> getAllExamsForCurrentUser(boolean includePast) {
+        Long userId = currentUserResolver.currentUserId();
+        if (includePast || !partitions.isEnabled()) {
+            return examRepository.findSummariesByUserId(userId);
+        }
+        // return the current and upcoming exams associated with the current user
+        return examRepository.findSummariesByUserIdFrom(userId, partitions.currentTermStart());
+    }
+
+    // the current user's next exams from now on, soonest first
+    @Transactional(readOnly = true)
+    public List<ExamSummary> getUpcomingExams(int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return examRepository.findUpcomingByUserId(currentUserResolver.currentUserId(), LocalDateTime.now(),
+                Limit.of(size));
+    }
+
+    // the current user's next exam, usually answered from memory
+    public Optional<ExamSummary> getNextExam() {
+        return nextExamCache.next(currentUserResolver.currentUserId(), LocalDateTime.now());
+    }
+
+    // retrieves one keyset page of the current user's exams ordered by exam date then id
+    // the optional range is inclusive on both days and the subject filter is a case-insensitive prefix
+    // with partitioning on and no start day, the listing begins at the current term unless includePast is set
+    @Transactional(readOnly = true)
+    public ExamPageResponse getExamPage(String cursor, int limit, LocalDate from, LocalDate to, String subjectPrefix,
+                                        boolean includePast) {
+        Long userId = currentUserResolver.currentUserId();
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime rangeStart = from != null ? from.atStartOfDay()
+                : includePast || !partitions.isEnabled() ? MIN_DATE : partitions.currentTermStart();
+        LocalDateTime rangeEnd = to != null ? to.plusDays(1).atStartOfDay() : MAX_DATE;
+        String prefix = subjectPrefix == null ? "" : escapeLike(subjectPrefix.trim().toLowerCase(Locale.ROOT));
+
+        LocalDateTime afterDate = MIN_DATE.minusDays(1);
+        long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterDate = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        // fetch one extra row to learn whether another page exists without a count query
+        List<ExamSummary> rows = examRepository.findPageByUserId(userId, rangeStart, rangeEnd, prefix + "%",
+                afterDate, afterId, Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new ExamPageResponse(rows, null);
+        }
+
+        List<ExamSummary> page = rows.subList(0, pageSize);
+        ExamSummary last = page.get(pageSize - 1);
+        return new ExamPageResponse(List.copyOf(page), encodeCursor(last.examDate(), last.id()));
+    }
+
+    // writes every exam of the current user as newline-delimited json, one row in memory at a time
+    @Transactional(readOnly = true)
+    public void exportExamsAsNdjson(OutputStream target) throws IOException {
+        Long userId = currentUserResolver.currentUserId();
+        OutputStream out = new BufferedOutputStream(target);
+        try (Stream<ExamSummary> rows = examRepository.streamSummariesByUserId(userId)) {
+            Iterator<ExamSummary> it = rows.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                out.write(exportWriter.writeValueAsBytes(it.next()));
+                out.write('\n');
+                // push the first rows out straight away and then once per fetched chunk
+                if (++written == 1 || written % ExamRepository.EXPORT_FETCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    // writes every exam of the current user as an icalendar feed, one row in memory at a time
+    @Transactional(readOnly = true)
+    public void exportExamsAsIcs(OutputStream target) throws IOException {
+        Long userId = currentUserResolver.currentUserId();
+        String stamp = ICAL_UTC.format(LocalDateTime.now(ZoneOffset.UTC));
+        Writer out = new OutputStreamWriter(new BufferedOutputStream(target), StandardCharsets.UTF_8);
+        out.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//examscheduler//exams//EN\r\n");
+        try (Stream<ExamSummary> rows = examRepository.streamSummariesByUserId(userId)) {
+            Iterator<ExamSummary> it = rows.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                ExamSummary exam = it.next();
+                out.write("BEGIN:VEVENT\r\n");
+                out.write("UID:exam-" + exam.id() + "@examscheduler\r\n");
+                out.write("DTSTAMP:" + stamp + "\r\n");
+                out.write("DTSTART:" + ICAL_LOCAL.format(exam.examDate()) + "\r\n");
+                out.write("SUMMARY:" + escapeIcalText(exam.subject()) + "\r\n");
+                if (exam.location() != null) {
+                    out.write("LOCATION:" + escapeIcalText(exam.location()) + "\r\n");
+                }
+                out.write("END:VEVENT\r\n");
+                if (++written == 1 || written % ExamRepository.EXPORT_FETCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.write("END:VCALENDAR\r\n");
+        out.flush();
+    }
 
-        // save the exam to the database
-        examRepository.save(exam);
+    private static String escapeIcalText(String value) {
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r", "")
+                .replace("\n", "\\n");
     }
 
-    // retrieves all exams for the currently authenticated user
-    public List<Exam> getAllExamsForCurrentUser() {
-        // get the current authenticated user's username
-        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+    // cursors are opaque to the client: base64url of "examDate|id" of the last row returned
+    private static String encodeCursor(LocalDateTime examDate, Long id) {
+        String raw = examDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        // find the user by username or throw an exception if not found
-        User user = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + currentUsername));
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] position = raw.split("\\|");
+            if (position.length != 2) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
 
-        // return all exams associated with the user
-        return examRepository.findAllByUser(user);
+    // escapes like wildcards so a subject filter always matches literally
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     // deletes an exam by its id
+    // one owner-scoped statement; only when nothing was deleted is a second query spent on 404 vs 403
+    @Transactional
     public void deleteExam(Long id) {
-        // get the current authenticated user's username
-        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
-        if (currentUsername == null) {
-            throw new NullPointerException();
+        Long userId = currentUserResolver.currentUserId();
+
+        // delete the exam only if it belongs to the current user
+        if (examRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw notFoundOrForbidden(id, "Not authorized to delete this exam");
         }
+        eventPublisher.publishEvent(new ExamChangedEvent(ExamChangedEvent.Type.DELETED, userId, id));
+    }
 
-        // find the user by username or throw an exception if not found
-        User user = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + currentUsername));
+    // retrieves an exam by its id, as a single owner-scoped projection query
+    @Transactional(readOnly = true)
+    public ExamSummary getExamById(Long id) {
+        Long userId = currentUserResolver.currentUserId();
+        return examRepository.findSummaryByIdAndUserId(id, userId)
+                .orElseThrow(() -> notFoundOrForbidden(id, "Not authorized to view this exam"));
+    }
 
-        // find the exam by id or throw an exception if not found
-        Exam exam = examRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam not found"));
+    // updates an existing exam by its id, as a single owner-scoped update statement after the overlap check
+    @Transactional
+    public void updateExam(Long id, UpdateExamRequest updateRequest) {
+        Long userId = currentUserResolver.currentUserId();
 
-        // check if the current user is authorized to delete the exam
-        if(!exam.getUser().getUsername().equals(currentUsername)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not authorized to delete this exam");
+        // update bodies are not bean-validated, and the conflict check relies on the duration limit
+        Integer durationMinutes = updateRequest.getDurationMinutes();
+        if (durationMinutes != null
+                && (durationMinutes < 1 || durationMinutes > ExamConflictService.LONGEST_EXAM_MINUTES)) {
+            throw new BadRequestException("Duration must be between 1 and "
+                    + ExamConflictService.LONGEST_EXAM_MINUTES + " minutes");
         }
 
-        // delete the exam from the database
-        examRepository.delete(exam);
-    }
+        // a request without a duration keeps the exam's current one, read with one owner-scoped query
+        // that also answers 404 or 403 for an exam that is missing or someone else's
+        if (durationMinutes == null) {
+            ExamSlot current = examRepository.findSlotByIdAndUserId(id, userId)
+                    .orElseThrow(() -> notFoundOrForbidden(id, "Not authorized to update this exam"));
+            durationMinutes = (int) Duration.between(current.start(), current.end()).toMinutes();
+        }
 
-    // retrieves an exam by its id
-    public Exam getExamById(Long id) {
-        // get the current authenticated user's username
-        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        // refuse to move the exam onto another of the user's exams or an already booked location;
+        // a fixed number of short reads under the row locks, however many exams the user has
+        rejectConflicts(conflictService.lockAndFindConflicts(userId, updateRequest.getExamDate(),
+                durationMinutes, updateRequest.getLocation(), id));
 
-        // find the exam by id or throw an exception if not found
-        Exam exam = examRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam not found"));
+        // update the exam's fields with the new values and the duration the check was made with
+        int updated = examRepository.updateByIdAndUserId(id, userId, updateRequest.getSubject(),
+                updateRequest.getExamDate(), updateRequest.getLocation(), durationMinutes);
+        if (updated == 0) {
+            throw notFoundOrForbidden(id, "Not authorized to update this exam");
+        }
+        eventPublisher.publishEvent(new ExamChangedEvent(ExamChangedEvent.Type.UPDATED, userId, id));
+    }
 
-        // check if the current user is authorized to view the exam
-        if(!exam.getUser().getUsername().equals(currentUsername)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not authorized to view this exam");
+    // moves every matching exam of the current user by the same offset in one update statement
+    // the moved exams keep their spacing, so they cannot start clashing with each other; the whole
+    // move is refused when any of them would land on another exam of the user or on a booking of
+    // its location, checked under the same locks as single writes
+    @Transactional
+    public BulkUpdateResponse rescheduleExams(BulkExamRequest request) {
+        Long offsetMinutes = request.getOffsetMinutes();
+        if (offsetMinutes == null || offsetMinutes == 0) {
+            throw new BadRequestException("Offset must be a non-zero number of minutes");
+        }
+        if (Math.abs(offsetMinutes) > MAX_SHIFT_MINUTES) {
+            throw new BadRequestException("Offset cannot exceed " + MAX_SHIFT_MINUTES + " minutes");
         }
+        Long userId = currentUserResolver.currentUserId();
+        LocalDateTime from = rangeStart(request);
+        LocalDateTime to = rangeEnd(request);
+        String subjectPattern = subjectPattern(request);
+        String locationPattern = locationPattern(request);
+        rejectMoveConflicts(conflictService.lockAndFindMoveConflicts(userId,
+                () -> examRepository.findSlotsMatchingByUserId(userId, from, to, subjectPattern, locationPattern),
+                slot -> new ExamSlot(slot.id(), slot.userId(), slot.subject(), slot.start().plusMinutes(offsetMinutes),
+                        slot.end().plusMinutes(offsetMinutes), slot.location()),
+                true));
+        int affected = examRepository.shiftByUserId(userId, from, to, subjectPattern, locationPattern, offsetMinutes);
+        return bulkChanged(userId, affected, Set.of());
+    }
 
-        // return the exam
-        return exam;
+    // assigns a new location to every matching exam of the current user in one update statement
+    // refused as a whole when any of them would overlap a booking of the new location, including
+    // another exam moved there by the same request; their times, and so the user's own overlaps, stay
+    @Transactional
+    public BulkUpdateResponse relocateExams(BulkExamRequest request) {
+        String newLocation = request.getNewLocation();
+        if (newLocation == null || newLocation.isBlank()) {
+            throw new BadRequestException("New location cannot be left blank");
+        }
+        Long userId = currentUserResolver.currentUserId();
+        LocalDateTime from = rangeStart(request);
+        LocalDateTime to = rangeEnd(request);
+        String subjectPattern = subjectPattern(request);
+        String locationPattern = locationPattern(request);
+        String location = newLocation.trim();
+        rejectMoveConflicts(conflictService.lockAndFindMoveConflicts(userId,
+                () -> examRepository.findSlotsMatchingByUserId(userId, from, to, subjectPattern, locationPattern),
+                slot -> new ExamSlot(slot.id(), slot.userId(), slot.subject(), slot.start(), slot.end(), location),
+                false));
+        int affected = examRepository.relocateByUserId(userId, from, to, subjectPattern, locationPattern, location);
+        return bulkChanged(userId, affected, Set.of(location));
     }
 
-    // updates an existing exam by its id
-    public void updateExam(Long id, UpdateExamRequest updateRequest) {
-        // get the current authenticated user's username
-        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+    // deletes every matching exam of the current user in one delete statement
+    @Transactional
+    public BulkUpdateResponse deleteExams(BulkExamRequest request) {
+        Long userId = currentUserResolver.currentUserId();
+        int affected = examRepository.deleteMatchingByUserId(userId, rangeStart(request), rangeEnd(request),
+                subjectPattern(request), locationPattern(request));
+        return bulkChanged(userId, affected, Set.of());
+    }
 
-        // find the exam by id or throw an exception if not found
-        Exam exam = examRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam not found"));
+    // the statements above change many exams at once, so the in-memory indexes and caches drop what
+    // the user's exams were part of once the bulk event is committed, along with any new location
+    private BulkUpdateResponse bulkChanged(Long userId, int affected, Set<String> bookedLocations) {
+        if (affected > 0) {
+            eventPublisher.publishEvent(new ExamChangedEvent(ExamChangedEvent.Type.BULK, userId, null, bookedLocations));
+        }
+        return new BulkUpdateResponse(affected);
+    }
 
-        // check if the current user is authorized to update the exam
-        if(!exam.getUser().getUsername().equals(currentUsername)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not authorized to update this exam");
+    private static LocalDateTime rangeStart(BulkExamRequest request) {
+        if (request.getFrom().isAfter(request.getTo())) {
+            throw new BadRequestException("Start day must not be after end day");
         }
+        return request.getFrom().atStartOfDay();
+    }
+
+    private static LocalDateTime rangeEnd(BulkExamRequest request) {
+        return request.getTo().plusDays(1).atStartOfDay();
+    }
 
-        // update the exam's fields with the new values
-        exam.setSubject(updateRequest.getSubject());
-        exam.setExamDate(updateRequest.getExamDate());
-        exam.setLocation(updateRequest.getLocation());
+    private static String subjectPattern(BulkExamRequest request) {
+        String subject = request.getSubject();
+        return subject == null ? "%" : escapeLike(subject.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static String locationPattern(BulkExamRequest request) {
+        String location = request.getLocation();
+        return location == null || location.isBlank() ? "%" : escapeLike(location.trim().toLowerCase(Locale.ROOT));
+    }
 
-        // save the updated exam to the database
-        examRepository.save(exam);
+    // an owner-scoped statement matched nothing: the exam is either missing or someone else's
+    private ResponseStatusException notFoundOrForbidden(Long id, String forbiddenMessage) {
+        if (examRepository.existsById(id)) {
+            return new ResponseStatusException(HttpStatus.FORBIDDEN, forbiddenMessage);
+        }
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam not found");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.entity.ExamListVersion;
+import com.examscheduler.backend.repository.ExamListVersionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// per-user version of the exam list, stored in exam_list_versions and bumped in the same transaction
+// as the change itself, so every instance behind a load balancer sees a write the moment it commits
+// and a version is never paired with data from before its transaction
+// reading the stamp is a single primary-key lookup, still far cheaper than rebuilding the list
+@Component
+public class ExamVersionTracker {
+
+    private final ExamListVersionRepository versionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExamVersionTracker(ExamListVersionRepository versionRepository) {
+        this.versionRepository = versionRepository;
+    }
+
+    public record Stamp(long version, String etag, Instant lastModified) {
+    }
+
+    @Transactional(readOnly = true)
+    public Stamp current(Long userId) {
+        return versionRepository.findById(userId)
+                .map(version -> stamp(userId, version.getVersion(), version.getModifiedAt()))
+                .orElseGet(() -> stamp(userId, 0, Instant.EPOCH));
+    }
+
+    // the write paths publish their event inside their transaction, so this joins it
+    @EventListener
+    @Transactional
+    public void onExamChanged(ExamChangedEvent event) {
+        Instant now = Instant.now();
+        if (versionRepository.increment(event.userId(), now) > 0) {
+            return;
+        }
+        // the user's first change: once the user row is locked, a concurrent first change either
+        // has committed its row (and the second increment finds it) or waits behind this one
+        versionRepository.lockUser(event.userId());
+        if (versionRepository.increment(event.userId(), now) == 0) {
+            entityManager.persist(new ExamListVersion(event.userId(), 1, now));
+        }
+    }
+
+    private static Stamp stamp(Long userId, long version, Instant modifiedAt) {
+        return new Stamp(version, userId + "-" + version, modifiedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
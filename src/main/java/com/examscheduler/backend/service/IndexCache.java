@@ -0,0 +1,137 @@
+package com.examscheduler.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// bounded map of per-key indexes that are built lazily and then kept current by committed changes
+// every change bumps a counter for its key before it is applied; a build reads that counter first
+// and is only installed if it is unchanged, compared under the map's lock for the key, so a change
+// that lands while an index is being built can never be lost to the stale build
+// counters are striped rather than kept per key, so they take fixed memory; two keys sharing a
+// stripe only ever cost a build that is used once without being kept; a change whose key is not
+// known counts against every key
+// when full, the least recently used index is dropped
+class IndexCache<K, V> {
+
+    private static final int STRIPES = 1024;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+    private final AtomicLong unkeyedChanges = new AtomicLong();
+    private final int maxSize;
+
+    IndexCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // the loaded index for the key, building it with the loader when there is none
+    V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            int stripe = stripe(key);
+            long changesBefore = changes.get(stripe);
+            long unkeyedBefore = unkeyedChanges.get();
+            V built = loader.get();
+            entry = entries.compute(key, (k, existing) -> existing != null ? existing
+                    : changes.get(stripe) == changesBefore && unkeyedChanges.get() == unkeyedBefore
+                    ? new Entry<>(built) : null);
+            if (entry == null) {
+                return built;
+            }
+            if (entries.size() > maxSize) {
+                evictLeastRecentlyUsed(key);
+            }
+        }
+        entry.lastUsed = System.nanoTime();
+        return entry.value;
+    }
+
+    // the loaded index for the key, or null without building one
+    V getIfLoaded(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    // records a change to the key; true when an index for it is loaded and the change must be applied,
+    // for changes that need work (a query) before they can be applied with changed
+    boolean recordChange(K key) {
+        changes.incrementAndGet(stripe(key));
+        return entries.containsKey(key);
+    }
+
+    // records a change to the key and applies it to the loaded index, if there is one
+    void changed(K key, Consumer<V> change) {
+        changes.incrementAndGet(stripe(key));
+        entries.computeIfPresent(key, (k, entry) -> {
+            change.accept(entry.value);
+            return entry;
+        });
+    }
+
+    // records a change to the key that the loaded index cannot follow, it is rebuilt on next use
+    void invalidate(K key) {
+        changes.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    void invalidateAll() {
+        unkeyedChanges.incrementAndGet();
+        entries.clear();
+    }
+
+    // drops every loaded index matching the filter, for a change whose keys are not all known
+    void invalidateIf(Predicate<V> affected) {
+        unkeyedChanges.incrementAndGet();
+        entries.values().removeIf(entry -> affected.test(entry.value));
+    }
+
+    // records a change whose key is not known and applies it to every loaded index
+    void changedAnywhere(Consumer<V> change) {
+        unkeyedChanges.incrementAndGet();
+        for (K key : entries.keySet()) {
+            entries.computeIfPresent(key, (k, entry) -> {
+                change.accept(entry.value);
+                return entry;
+            });
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictLeastRecentlyUsed(K justAdded) {
+        K oldestKey = null;
+        long oldestUse = Long.MAX_VALUE;
+        for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+            long lastUsed = candidate.getValue().lastUsed;
+            if (!candidate.getKey().equals(justAdded) && (oldestKey == null || lastUsed - oldestUse < 0)) {
+                oldestKey = candidate.getKey();
+                oldestUse = lastUsed;
+            }
+        }
+        if (oldestKey != null) {
+            entries.remove(oldestKey);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile long lastUsed = System.nanoTime();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
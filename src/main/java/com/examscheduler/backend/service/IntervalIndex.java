@@ -0,0 +1,109 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamSlot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// exam intervals ordered by start time
+// because no interval is longer than the longest one ever added, every interval overlapping
+// [start, end) begins inside [start - longest, end), so a query is one bounded range scan
+// (log n + k) instead of a pass over the whole schedule
+class IntervalIndex {
+
+    private final NavigableMap<SlotKey, ExamSlot> byStart = new TreeMap<>();
+    private final Map<Long, ExamSlot> byId = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long longestMinutes;
+
+    // adding a slot replaces any earlier one with the same id
+    void add(ExamSlot slot) {
+        lock.writeLock().lock();
+        try {
+            ExamSlot previous = byId.put(slot.id(), slot);
+            if (previous != null) {
+                byStart.remove(new SlotKey(previous.start(), previous.id()));
+            }
+            byStart.put(new SlotKey(slot.start(), slot.id()), slot);
+            longestMinutes = Math.max(longestMinutes, Duration.between(slot.start(), slot.end()).toMinutes());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            ExamSlot slot = byId.remove(id);
+            if (slot != null) {
+                byStart.remove(new SlotKey(slot.start(), slot.id()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    ExamSlot get(Long id) {
+        lock.readLock().lock();
+        try {
+            return byId.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // intervals overlapping [start, end), optionally ignoring one exam id
+    List<ExamSlot> overlapping(LocalDateTime start, LocalDateTime end, Long excludeId) {
+        lock.readLock().lock();
+        try {
+            SlotKey from = new SlotKey(start.minusMinutes(longestMinutes), Long.MIN_VALUE);
+            SlotKey to = new SlotKey(end, Long.MIN_VALUE);
+            if (from.compareTo(to) >= 0) {
+                return List.of();
+            }
+            List<ExamSlot> result = new ArrayList<>();
+            for (ExamSlot slot : byStart.subMap(from, true, to, false).values()) {
+                if (slot.end().isAfter(start) && !slot.id().equals(excludeId)) {
+                    result.add(slot);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean holdsExamsOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            return byId.values().stream().anyMatch(slot -> slot.userId().equals(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return byStart.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record SlotKey(LocalDateTime start, long id) implements Comparable<SlotKey> {
+
+        @Override
+        public int compareTo(SlotKey other) {
+            int byTime = start.compareTo(other.start);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+}
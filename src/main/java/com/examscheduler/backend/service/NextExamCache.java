@@ -0,0 +1,64 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.repository.ExamRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// each user's next upcoming exam, so the dashboard header does not query on every render
+// an entry is dropped after every committed change made on this instance and reloaded once the
+// exam it holds has started; a change committed by another instance is only seen once the entry
+// expires, so entries are also reloaded after exams.next.ttl, which bounds how stale they get
+// at most max-users entries are kept, least recently used dropped first
+@Component
+public class NextExamCache {
+
+    private final ExamRepository examRepository;
+    private final Duration ttl;
+
+    // a load that overlapped a change is returned once but not kept
+    private final IndexCache<Long, Entry> byUser;
+
+    public NextExamCache(ExamRepository examRepository,
+                         @Value("${exams.next.max-users:10000}") int maxUsers,
+                         @Value("${exams.next.ttl:PT1M}") Duration ttl) {
+        this.examRepository = examRepository;
+        this.ttl = ttl;
+        this.byUser = new IndexCache<>(maxUsers);
+    }
+
+    // exam is null when the user has nothing coming up; the entry is reloaded from expiresAt on
+    private record Entry(ExamSummary exam, LocalDateTime expiresAt) {
+    }
+
+    public Optional<ExamSummary> next(Long userId, LocalDateTime now) {
+        Entry entry = byUser.get(userId, () -> load(userId, now));
+        if (!entry.expiresAt().isAfter(now)) {
+            byUser.invalidate(userId);
+            entry = byUser.get(userId, () -> load(userId, now));
+        }
+        return Optional.ofNullable(entry.exam());
+    }
+
+    private Entry load(Long userId, LocalDateTime now) {
+        ExamSummary exam = examRepository.findUpcomingByUserId(userId, now, Limit.of(1)).stream()
+                .findFirst()
+                .orElse(null);
+        LocalDateTime expiresAt = now.plus(ttl);
+        if (exam != null && exam.examDate().isBefore(expiresAt)) {
+            expiresAt = exam.examDate();
+        }
+        return new Entry(exam, expiresAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamChanged(ExamChangedEvent event) {
+        byUser.invalidate(event.userId());
+    }
+}
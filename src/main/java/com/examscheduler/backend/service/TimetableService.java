@@ -0,0 +1,156 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.dto.BulkImportResponse;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.dto.TimetableRequest;
+import com.examscheduler.backend.dto.TimetableRequest.Room;
+import com.examscheduler.backend.dto.TimetableRequest.UnscheduledExam;
+import com.examscheduler.backend.dto.TimetableResponse;
+import com.examscheduler.backend.dto.TimetableResponse.Assignment;
+import com.examscheduler.backend.exception.BadRequestException;
+import com.examscheduler.backend.repository.ExamRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+// turns a timetabling request into a solver problem, solves it and optionally stores the result
+@Service
+@Timed(value = "app.service", histogram = true)
+public class TimetableService {
+
+    public static final int MAX_EXAMS = 10_000;
+    public static final int MAX_SLOTS = 2_000;
+
+    private final ExamImportService examImportService;
+    private final ExamRepository examRepository;
+    private final ForkJoinPool solverPool;
+    private final TimetableSolver solver;
+
+    @Autowired
+    public TimetableService(ExamImportService examImportService, ExamRepository examRepository,
+                            @Value("${timetable.restarts:0}") int restarts,
+                            @Value("${timetable.threads:0}") int threads) {
+        this.examImportService = examImportService;
+        this.examRepository = examRepository;
+        // a pool of its own with a fixed number of threads, so solves queue behind each other instead
+        // of taking over the common pool that parallel streams and other async work rely on
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.solverPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("timetable-solver-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        // by default one randomised attempt per solver thread
+        int attempts = restarts > 0 ? restarts : parallelism;
+        this.solver = new TimetableSolver(solverPool, attempts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        solverPool.shutdownNow();
+    }
+
+    public TimetableResponse solve(TimetableRequest request) {
+        List<UnscheduledExam> exams = request.getExams();
+        if (exams.size() > MAX_EXAMS || request.getSlots().size() > MAX_SLOTS) {
+            throw new BadRequestException("At most " + MAX_EXAMS + " exams and " + MAX_SLOTS + " slots can be solved at once");
+        }
+
+        // rooms by ascending capacity so the solver can pick the tightest fit first
+        List<Room> rooms = request.getRooms().stream()
+                .sorted(Comparator.comparingInt(Room::capacity))
+                .toList();
+        List<LocalDateTime> slots = request.getSlots().stream().distinct().sorted().toList();
+        LocalDateTime origin = slots.get(0);
+
+        Map<String, Integer> cohortIds = new HashMap<>();
+        int[][] cohorts = cohortIds(exams, cohortIds);
+        int longest = exams.stream().mapToInt(UnscheduledExam::durationMinutes).max().orElse(0);
+        long[][] roomBookings = roomBookings(rooms, origin, slots.get(slots.size() - 1).plusMinutes(longest));
+
+        long startedAt = System.nanoTime();
+        TimetableSolver.Solution solution = solver.solve(new TimetableSolver.Problem(
+                exams.stream().mapToInt(UnscheduledExam::durationMinutes).toArray(),
+                exams.stream().mapToInt(UnscheduledExam::headcount).toArray(),
+                cohorts,
+                cohortIds.size(),
+                rooms.stream().mapToInt(Room::capacity).toArray(),
+                roomBookings,
+                slots.stream().mapToLong(slot -> Duration.between(origin, slot).toMinutes()).toArray()));
+        long solveMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        List<Assignment> assignments = new ArrayList<>();
+        List<Integer> unplaced = new ArrayList<>();
+        for (int i = 0; i < exams.size(); i++) {
+            if (solution.slot()[i] < 0) {
+                unplaced.add(i);
+                continue;
+            }
+            LocalDateTime start = slots.get(solution.slot()[i]);
+            assignments.add(new Assignment(i, exams.get(i).subject(), rooms.get(solution.room()[i]).location(),
+                    start, start.plusMinutes(exams.get(i).durationMinutes())));
+        }
+
+        // stored through the bulk import path: batched inserts and checks against bookings made since
+        // the solve; the rows all belong to the caller, so parallel sittings are not refused as overlaps
+        BulkImportResponse saved = null;
+        if (request.isSave() && !assignments.isEmpty()) {
+            List<AddExamRequest> rows = new ArrayList<>(assignments.size());
+            for (Assignment assignment : assignments) {
+                AddExamRequest row = new AddExamRequest(assignment.subject(), assignment.start().toLocalDate(),
+                        assignment.start().toLocalTime(), assignment.location());
+                row.setDurationMinutes(exams.get(assignment.exam()).durationMinutes());
+                rows.add(row);
+            }
+            saved = examImportService.importTimetable(rows);
+        }
+
+        return new TimetableResponse(assignments, unplaced, solution.wastedSeats(), solver.getRestarts(),
+                solveMillis, saved);
+    }
+
+    // what each room is already booked for between the first slot and the end of the last possible
+    // exam, in minutes from the origin, one range read per room
+    private long[][] roomBookings(List<Room> rooms, LocalDateTime origin, LocalDateTime until) {
+        LocalDateTime from = origin.minusMinutes(ExamConflictService.LONGEST_EXAM_MINUTES);
+        long[][] result = new long[rooms.size()][];
+        for (int r = 0; r < rooms.size(); r++) {
+            List<ExamSlot> booked = examRepository.findSlotsByLocationStartingBetween(
+                    ExamBookingLocks.normalize(rooms.get(r).location()), from, until);
+            result[r] = new long[booked.size() * 2];
+            for (int b = 0; b < booked.size(); b++) {
+                result[r][2 * b] = Duration.between(origin, booked.get(b).start()).toMinutes();
+                result[r][2 * b + 1] = Duration.between(origin, booked.get(b).end()).toMinutes();
+            }
+        }
+        return result;
+    }
+
+    // numbers the cohorts in order of first appearance and lists each exam's distinct cohort ids,
+    // linear in the number of cohort memberships however large a cohort is
+    private static int[][] cohortIds(List<UnscheduledExam> exams, Map<String, Integer> ids) {
+        int[][] result = new int[exams.size()][];
+        for (int i = 0; i < exams.size(); i++) {
+            List<String> cohorts = exams.get(i).cohorts();
+            result[i] = cohorts == null ? new int[0] : cohorts.stream()
+                    .mapToInt(cohort -> ids.computeIfAbsent(cohort, key -> ids.size()))
+                    .distinct()
+                    .toArray();
+        }
+        return result;
+    }
+}
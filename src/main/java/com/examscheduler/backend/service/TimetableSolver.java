@@ -0,0 +1,317 @@
+package com.examscheduler.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// places exams into (start slot, room) pairs so that exams sharing a cohort never overlap,
+// no room holds two overlapping exams and every exam fits the room's capacity
+// each attempt is a greedy colouring of the cohort conflict graph (most constrained exam first,
+// earliest feasible slot, smallest room that fits) followed by a local search that frees a place
+// for every exam left over by moving one blocking exam elsewhere; independent randomised attempts
+// are spread over a fork/join pool and the best timetable wins
+// the conflict graph is never built: each cohort keeps a schedule of its placed exams like a room
+// does, so memory grows with cohort memberships rather than with the square of a cohort's size
+public class TimetableSolver {
+
+    // one unplaced exam always outweighs any amount of wasted seats
+    private static final long UNPLACED_PENALTY = 1_000_000_000L;
+
+    // stands for a booking that was in the room before solving, which is never moved
+    private static final int EXISTING = -1;
+
+    private final ForkJoinPool pool;
+    private final int restarts;
+
+    public TimetableSolver(ForkJoinPool pool, int restarts) {
+        this.pool = pool;
+        this.restarts = Math.max(1, restarts);
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    // times are minutes from an arbitrary origin, cohorts are the ids (0 to cohortCount - 1) each
+    // exam belongs to, capacities must be sorted ascending; roomBookings holds, per room, the
+    // intervals it is already booked for as flat start, end pairs, which no exam may overlap
+    public record Problem(int[] durations, int[] headcounts, int[][] cohorts, int cohortCount, int[] capacities,
+                          long[][] roomBookings, long[] slotStarts) {
+    }
+
+    // slot and room per exam, -1 for exams that could not be placed
+    public record Solution(int[] slot, int[] room, int unplaced, long wastedSeats) {
+
+        long score() {
+            return unplaced * UNPLACED_PENALTY + wastedSeats;
+        }
+    }
+
+    public Solution solve(Problem problem) {
+        return pool.invoke(new AttemptTask(problem, 0, restarts));
+    }
+
+    // splits the attempt range in halves until a single attempt is left
+    private static class AttemptTask extends RecursiveTask<Solution> {
+
+        private final Problem problem;
+        private final int from;
+        private final int to;
+
+        AttemptTask(Problem problem, int from, int to) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Solution compute() {
+            if (to - from == 1) {
+                return attempt(problem, from);
+            }
+            int mid = (from + to) >>> 1;
+            AttemptTask left = new AttemptTask(problem, from, mid);
+            left.fork();
+            Solution right = new AttemptTask(problem, mid, to).compute();
+            Solution best = left.join();
+            return right.score() < best.score() ? right : best;
+        }
+    }
+
+    // attempt 0 is the plain heuristic order, later attempts jitter it to explore other colourings
+    // an exam's constraint is the number of other members across its cohorts, its degree in the
+    // conflict graph save for exams sharing more than one cohort with it
+    static Solution attempt(Problem problem, int seed) {
+        int n = problem.durations().length;
+        int[] cohortSizes = new int[problem.cohortCount()];
+        for (int[] cohorts : problem.cohorts()) {
+            for (int cohort : cohorts) {
+                cohortSizes[cohort]++;
+            }
+        }
+        Random random = new Random(seed);
+        double[] priority = new double[n];
+        for (int exam = 0; exam < n; exam++) {
+            long degree = 0;
+            for (int cohort : problem.cohorts()[exam]) {
+                degree += cohortSizes[cohort] - 1;
+            }
+            double jitter = seed == 0 ? 0 : random.nextDouble() * 0.5;
+            priority[exam] = degree * (1 + jitter)
+                    + problem.headcounts()[exam] / 1_000_000.0
+                    + problem.durations()[exam] / 1_000_000_000.0;
+        }
+        Integer[] order = new Integer[n];
+        for (int exam = 0; exam < n; exam++) {
+            order[exam] = exam;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer exam) -> priority[exam]).reversed());
+
+        State state = new State(problem);
+        List<Integer> unplaced = new ArrayList<>();
+        for (int exam : order) {
+            if (!state.placeAnywhere(exam)) {
+                unplaced.add(exam);
+            }
+        }
+        for (int exam : unplaced) {
+            state.placeByMovingOne(exam);
+        }
+        return state.toSolution();
+    }
+
+    private static class State {
+
+        private final Problem problem;
+        private final int[] slot;
+        private final int[] room;
+        private final Schedule[] rooms;
+        private final Schedule[] cohorts;
+
+        State(Problem problem) {
+            this.problem = problem;
+            int n = problem.durations().length;
+            this.slot = new int[n];
+            this.room = new int[n];
+            Arrays.fill(slot, -1);
+            Arrays.fill(room, -1);
+            this.rooms = new Schedule[problem.capacities().length];
+            for (int r = 0; r < rooms.length; r++) {
+                rooms[r] = new Schedule();
+                long[] booked = problem.roomBookings()[r];
+                for (int b = 0; b + 1 < booked.length; b += 2) {
+                    rooms[r].add(booked[b], booked[b + 1] - booked[b], EXISTING);
+                }
+            }
+            this.cohorts = new Schedule[problem.cohortCount()];
+            for (int c = 0; c < cohorts.length; c++) {
+                cohorts[c] = new Schedule();
+            }
+        }
+
+        boolean placeAnywhere(int exam) {
+            return placeAnywhereExcept(exam, -1, -1);
+        }
+
+        // earliest slot free of cohort clashes, then the smallest free room that seats everyone
+        boolean placeAnywhereExcept(int exam, int skipSlot, int skipRoom) {
+            int firstRoom = firstRoomFitting(problem.headcounts()[exam]);
+            if (firstRoom < 0) {
+                return false;
+            }
+            for (int s = 0; s < problem.slotStarts().length; s++) {
+                if (!cohortFree(exam, s)) {
+                    continue;
+                }
+                long start = problem.slotStarts()[s];
+                long end = start + problem.durations()[exam];
+                for (int r = firstRoom; r < rooms.length; r++) {
+                    if ((s != skipSlot || r != skipRoom) && rooms[r].free(start, end)) {
+                        assign(exam, s, r);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // local search step: find a slot and room where a single exam is in the way and move that one
+        void placeByMovingOne(int exam) {
+            int firstRoom = firstRoomFitting(problem.headcounts()[exam]);
+            if (firstRoom < 0) {
+                return;
+            }
+            for (int s = 0; s < problem.slotStarts().length; s++) {
+                if (!cohortFree(exam, s)) {
+                    continue;
+                }
+                long start = problem.slotStarts()[s];
+                long end = start + problem.durations()[exam];
+                for (int r = firstRoom; r < rooms.length; r++) {
+                    List<Integer> blockers = rooms[r].overlapping(start, end);
+                    if (blockers.size() != 1) {
+                        continue;
+                    }
+                    int blocker = blockers.get(0);
+                    if (blocker == EXISTING) {
+                        continue;
+                    }
+                    int blockerSlot = slot[blocker];
+                    int blockerRoom = room[blocker];
+                    unassign(blocker);
+                    assign(exam, s, r);
+                    if (placeAnywhereExcept(blocker, blockerSlot, blockerRoom)) {
+                        return;
+                    }
+                    unassign(exam);
+                    assign(blocker, blockerSlot, blockerRoom);
+                }
+            }
+        }
+
+        // an exam is never in its own cohorts' schedules while it is being placed
+        private boolean cohortFree(int exam, int s) {
+            long start = problem.slotStarts()[s];
+            long end = start + problem.durations()[exam];
+            for (int cohort : problem.cohorts()[exam]) {
+                if (!cohorts[cohort].free(start, end)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // index of the smallest room seating the headcount, -1 if none is big enough
+        private int firstRoomFitting(int headcount) {
+            int index = Arrays.binarySearch(problem.capacities(), headcount);
+            if (index < 0) {
+                index = -index - 1;
+            } else {
+                while (index > 0 && problem.capacities()[index - 1] == headcount) {
+                    index--;
+                }
+            }
+            return index < rooms.length ? index : -1;
+        }
+
+        private void assign(int exam, int s, int r) {
+            slot[exam] = s;
+            room[exam] = r;
+            rooms[r].add(problem.slotStarts()[s], problem.durations()[exam], exam);
+            for (int cohort : problem.cohorts()[exam]) {
+                cohorts[cohort].add(problem.slotStarts()[s], problem.durations()[exam], exam);
+            }
+        }
+
+        private void unassign(int exam) {
+            rooms[room[exam]].remove(problem.slotStarts()[slot[exam]], exam);
+            for (int cohort : problem.cohorts()[exam]) {
+                cohorts[cohort].remove(problem.slotStarts()[slot[exam]], exam);
+            }
+            slot[exam] = -1;
+            room[exam] = -1;
+        }
+
+        Solution toSolution() {
+            int unplaced = 0;
+            long wastedSeats = 0;
+            for (int exam = 0; exam < slot.length; exam++) {
+                if (slot[exam] < 0) {
+                    unplaced++;
+                } else {
+                    wastedSeats += problem.capacities()[room[exam]] - problem.headcounts()[exam];
+                }
+            }
+            return new Solution(slot, room, unplaced, wastedSeats);
+        }
+    }
+
+    // exams booked into one room or cohort keyed by start minute, same bounded range scan as IntervalIndex
+    private static class Schedule {
+
+        private final TreeMap<Long, List<long[]>> byStart = new TreeMap<>();
+        private long longest;
+
+        void add(long start, long duration, int exam) {
+            byStart.computeIfAbsent(start, key -> new ArrayList<>(1)).add(new long[]{start + duration, exam});
+            longest = Math.max(longest, duration);
+        }
+
+        void remove(long start, int exam) {
+            List<long[]> atStart = byStart.get(start);
+            atStart.removeIf(booking -> booking[1] == exam);
+            if (atStart.isEmpty()) {
+                byStart.remove(start);
+            }
+        }
+
+        boolean free(long start, long end) {
+            for (Map.Entry<Long, List<long[]>> entry : byStart.subMap(start - longest, true, end, false).entrySet()) {
+                for (long[] booking : entry.getValue()) {
+                    if (booking[0] > start) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        List<Integer> overlapping(long start, long end) {
+            List<Integer> result = new ArrayList<>(2);
+            for (Map.Entry<Long, List<long[]>> entry : byStart.subMap(start - longest, true, end, false).entrySet()) {
+                for (long[] booking : entry.getValue()) {
+                    if (booking[0] > start) {
+                        result.add((int) booking[1]);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -4,54 +4,91 @@ import com.examscheduler.backend.dto.SignupRequest;
 import com.examscheduler.backend.entity.User;
 import com.examscheduler.backend.exception.BadRequestException;
 import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.security.PasswordHasher;
+import com.examscheduler.backend.security.PrincipalCache;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
+import java.util.Locale;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class UserService {
 
+    // users.username is a varchar(255)
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    // sqlstate of a unique constraint violation, the same on postgresql and h2
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final PrincipalCache principalCache;
 
-    // constructor to inject user repository and password encoder dependencies
+    // constructor to inject user repository, password hasher and credential cache dependencies
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher, PrincipalCache principalCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.principalCache = principalCache;
     }
 
     // registers a new user by saving their details to the database
     public void registerUser(SignupRequest signupRequest) {
-        String email = signupRequest.getUsername().toLowerCase().trim();
+        // anything else the insert could violate besides username uniqueness is caught up front
+        if (signupRequest.getUsername() == null || signupRequest.getUsername().isBlank()
+                || signupRequest.getPassword() == null || signupRequest.getPassword().isEmpty()) {
+            throw new BadRequestException("Email and password are required");
+        }
 
-        // prevent duplicate emails
-        if(userRepository.existsByUsername(email)) {
-            throw new BadRequestException("Email is already in use");
+        // usernames are stored trimmed and lowercased, so the unique constraint on username rejects
+        // addresses that differ only in case, as the old lookup-based duplicate check did
+        String email = normalizeUsername(signupRequest.getUsername());
+        if (email.length() > MAX_USERNAME_LENGTH) {
+            throw new BadRequestException("Email cannot be longer than " + MAX_USERNAME_LENGTH + " characters");
         }
 
         User user = new User();
 
-        // set the username from the signup request
-        user.setUsername(signupRequest.getUsername());
+        // set the normalized username from the signup request
+        user.setUsername(email);
 
-        // encode the raw password before saving to the database
+        // encode the raw password before saving to the database, on the bounded hashing pool
         String rawPassword = signupRequest.getPassword();
-        String encodedPassword = passwordEncoder.encode(rawPassword);
+        String encodedPassword = passwordHasher.encode(rawPassword);
         user.setPassword(encodedPassword);
 
-        // save the user to the database
-        userRepository.save(user);
-    }
-}
-
-
-
-
-
-
-
-
+        // save the user to the database; the unique constraint on username is the duplicate check,
+        // so there is no separate lookup and two concurrent signups cannot both get through
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // username is the only unique column a new row can collide on; anything else is a real error
+            if (isUniqueViolation(e)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Email is already in use");
+            }
+            throw e;
+        }
 
+        // never let a cached credential outlive a write to the user's password
+        principalCache.invalidate(user.getUsername());
+    }
 
+    public static String normalizeUsername(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
 
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
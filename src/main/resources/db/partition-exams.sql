@@ -0,0 +1,69 @@
+-- converts the exams table into one range-partitioned by exam_date (postgresql 13 or later)
+-- partitions cover six months aligned on january 1st, matching exams.partitioning.months-per-partition=6
+-- run once with the application stopped, then start it with exams.partitioning.enabled=true so
+-- ExamPartitionMaintenance keeps future partitions created and archives old ones
+--
+-- postgresql needs the partition key in every unique constraint, so the primary key becomes
+-- (id, exam_date); ids stay unique because they all come from exams_seq
+-- lookups by id alone probe the primary key index of each attached partition, listings by user
+-- and date only touch the partitions in range
+
+begin;
+
+-- exam_date becomes part of the primary key, so rows without one cannot be carried over;
+-- stop here rather than leave them behind, fix or delete them and run the script again
+do $$
+declare
+    undated bigint := (select count(*) from exams where exam_date is null);
+begin
+    if undated > 0 then
+        raise exception '% exams have no exam_date, set one or delete them before partitioning', undated;
+    end if;
+end $$;
+
+alter table exams rename to exams_unpartitioned;
+alter index if exists idx_exams_user_date_id rename to idx_exams_unpartitioned_user_date_id;
+alter index if exists idx_exams_date rename to idx_exams_unpartitioned_date;
+
+create table exams (
+    id               bigint       not null,
+    duration_minutes integer,
+    exam_date        timestamp(6) not null,
+    location         varchar(255),
+    subject          varchar(255),
+    version          bigint,
+    user_id          bigint       references users (id),
+    primary key (id, exam_date)
+) partition by range (exam_date);
+
+create index idx_exams_user_date_id on exams (user_id, exam_date, id);
+create index idx_exams_date on exams (exam_date);
+
+-- one partition per term from the oldest stored exam up to a year ahead,
+-- plus a default partition for anything outside them (dates far in the future)
+-- with a default partition in place postgresql does not allow detach ... concurrently, so
+-- ExamPartitionMaintenance detaches old partitions with a short lock_timeout instead
+do $$
+declare
+    term_start date := date_trunc('year', coalesce((select min(exam_date) from exams_unpartitioned), now()))::date;
+    last_start date := (date_trunc('year', now()) + interval '18 months')::date;
+begin
+    while term_start < last_start loop
+        execute format('create table exams_p%s partition of exams for values from (%L) to (%L)',
+                       to_char(term_start, 'YYYY_MM'), term_start, term_start + interval '6 months');
+        term_start := term_start + interval '6 months';
+    end loop;
+end $$;
+
+create table exams_default partition of exams default;
+
+insert into exams (id, duration_minutes, exam_date, location, subject, version, user_id)
+select id, duration_minutes, exam_date, location, subject, version, user_id
+from exams_unpartitioned;
+
+commit;
+
+analyze exams;
+
+-- once the application has been checked against the new table:
+-- drop table exams_unpartitioned;
@@ -0,0 +1,157 @@
+package com.examscheduler.backend.config;
+
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import com.examscheduler.backend.security.CustomUserDetailsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two embedded databases that each know only their own name stand in for a primary and a replica
+class ReplicaRoutingDataSourceTests {
+
+	private final ReadYourWritesWindow readYourWrites = new ReadYourWritesWindow(Duration.ofMinutes(1));
+	private DataSource primary;
+	private DataSource replica;
+	private DataSource routing;
+	private JdbcTemplate jdbc;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		primary = database("primary");
+		replica = database("replica");
+		routing = new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primary, List.of(replica), readYourWrites));
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+		jdbc = new JdbcTemplate(routing);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		assertThat(readOnly.execute(status -> name())).isEqualTo("replica");
+		assertThat(readWrite.execute(status -> name())).isEqualTo("primary");
+		assertThat(name()).isEqualTo("primary");
+	}
+
+	@Test
+	void userWhoJustWroteReadsFromThePrimary() {
+		authenticate(7L);
+		readYourWrites.markWrite(7L);
+
+		assertThat(readOnly.execute(status -> name())).isEqualTo("primary");
+
+		authenticate(8L);
+		assertThat(readOnly.execute(status -> name())).isEqualTo("replica");
+	}
+
+	@Test
+	void onPrimaryOverridesTheReplica() {
+		assertThat(ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> name()))).isEqualTo("primary");
+	}
+
+	@Test
+	void signupMissingOnTheReplicaIsFoundOnThePrimaryDespiteTheQueryCache() throws Exception {
+		try (CacheManager cacheManager = new HibernateCacheConfig().hibernateCacheManager(
+				100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1))) {
+			LocalContainerEntityManagerFactoryBean factoryBean = entityManagerFactory(cacheManager);
+			try {
+				EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+				UserRepository users = new JpaRepositoryFactory(
+						SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+						.getRepository(UserRepository.class);
+				TransactionTemplate readOnlyJpa = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+				readOnlyJpa.setReadOnly(true);
+
+				// the replica has the table but not yet the new user
+				new JdbcTemplate(replica).execute("create table if not exists users (id bigint generated by default "
+						+ "as identity primary key, username varchar(255) not null unique, password varchar(255), "
+						+ "role varchar(16))");
+				new JdbcTemplate(replica).update("delete from users");
+				new JdbcTemplate(primary).update("insert into users (username, password, role) values (?, ?, ?)",
+						"new@example.com", "hash", "USER");
+
+				// the miss on the replica lands in the query cache
+				assertThat(readOnlyJpa.execute(status -> users.findByUsername("new@example.com"))).isEmpty();
+				assertThat(users.findByUsername("new@example.com")).isEmpty();
+
+				UserDetails user = new CustomUserDetailsService(users).loadUserByUsername("new@example.com");
+
+				assertThat(user.getUsername()).isEqualTo("new@example.com");
+			}
+			finally {
+				factoryBean.destroy();
+			}
+		}
+	}
+
+	private LocalContainerEntityManagerFactoryBean entityManagerFactory(CacheManager cacheManager) {
+		Map<String, Object> properties = new HashMap<>();
+		new HibernateCacheConfig().secondLevelCache(cacheManager).customize(properties);
+		// the schema is created through the routing data source outside a transaction, so on the primary
+		properties.put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+		LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+		factoryBean.setDataSource(routing);
+		factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factoryBean.setPackagesToScan(User.class.getPackageName());
+		factoryBean.setJpaPropertyMap(properties);
+		factoryBean.afterPropertiesSet();
+		return factoryBean;
+	}
+
+	private String name() {
+		return jdbc.queryForObject("select name from whoami", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table if not exists whoami (name varchar(20))");
+		jdbc.execute("delete from whoami");
+		jdbc.update("insert into whoami values (?)", name);
+		return dataSource;
+	}
+
+	private static void authenticate(Long userId) {
+		AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", "hash",
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+	}
+}
@@ -0,0 +1,112 @@
+package com.examscheduler.backend.controller;
+
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// more exams than one fetch, so the export crosses a chunk flush
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ExamExportTests {
+
+	private static final int EXAMS = ExamRepository.EXPORT_FETCH_SIZE + 2;
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 10, 9, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private AuthenticatedUser principal;
+	private final List<Long> examIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("export-owner@example.com");
+		owner.setPassword("hash");
+		entityManager.persist(owner);
+		for (int i = 0; i < EXAMS; i++) {
+			Exam exam = new Exam("Algebra, part " + i, NINE.plusHours(i), "Hall A", owner);
+			exam.setDurationMinutes(90);
+			entityManager.persist(exam);
+			examIds.add(exam.getId());
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		principal = new AuthenticatedUser(owner.getId(), owner.getUsername(), "hash",
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+	}
+
+	@Test
+	void ndjsonExportHasOneLinePerExamInDateOrder() throws Exception {
+		String body = mockMvc.perform(get("/api/exams/export").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exams.ndjson\""))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertThat(body).endsWith("\n");
+		List<Long> ids = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			JsonNode exam = objectMapper.readTree(line);
+			assertThat(exam.has("user")).isFalse();
+			ids.add(exam.get("id").asLong());
+		}
+		assertThat(ids).containsExactlyElementsOf(examIds);
+		assertThat(objectMapper.readTree(body.substring(0, body.indexOf('\n'))).get("subject").asText())
+				.isEqualTo("Algebra, part 0");
+	}
+
+	@Test
+	void icsExportHasOneEventPerExam() throws Exception {
+		String body = mockMvc.perform(get("/api/exams/export").param("format", "ics").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/calendar"))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exams.ics\""))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertThat(body).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+		assertThat(body.split("BEGIN:VEVENT", -1)).hasSize(EXAMS + 1);
+		assertThat(body).contains("UID:exam-" + examIds.get(0) + "@examscheduler\r\n",
+				"DTSTART:20300110T090000\r\n", "SUMMARY:Algebra\\, part 0\r\n");
+	}
+
+	@Test
+	void unknownFormatIsRejected() throws Exception {
+		mockMvc.perform(get("/api/exams/export").param("format", "xlsx").with(user(principal)))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,82 @@
+package com.examscheduler.backend.controller;
+
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the listings serialize exam columns only, never the owning user or their password hash
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ExamListingSerializationTests {
+
+	private static final String PASSWORD_HASH = "$2a$10$storedPasswordHashThatMustNotLeak";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private AuthenticatedUser principal;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("listing-owner@example.com");
+		owner.setPassword(PASSWORD_HASH);
+		entityManager.persist(owner);
+		Exam exam = new Exam("Algebra", LocalDateTime.of(2030, 1, 10, 9, 0), "Hall A", owner);
+		exam.setDurationMinutes(90);
+		entityManager.persist(exam);
+		entityManager.flush();
+		entityManager.clear();
+
+		principal = new AuthenticatedUser(owner.getId(), owner.getUsername(), PASSWORD_HASH,
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+	}
+
+	@Test
+	void allListsExamColumnsOnly() throws Exception {
+		mockMvc.perform(get("/api/exams/all").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].subject").value("Algebra"))
+				.andExpect(jsonPath("$[0].location").value("Hall A"))
+				.andExpect(jsonPath("$[0].durationMinutes").value(90))
+				.andExpect(jsonPath("$[0].user").doesNotExist())
+				.andExpect(content().string(not(containsString("password"))))
+				.andExpect(content().string(not(containsString(PASSWORD_HASH))))
+				.andExpect(content().string(not(containsString("listing-owner@example.com"))));
+	}
+
+	@Test
+	void pageListsExamColumnsOnly() throws Exception {
+		mockMvc.perform(get("/api/exams/page").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].subject").value("Algebra"))
+				.andExpect(jsonPath("$.items[0].user").doesNotExist())
+				.andExpect(content().string(not(containsString("password"))))
+				.andExpect(content().string(not(containsString(PASSWORD_HASH))))
+				.andExpect(content().string(not(containsString("listing-owner@example.com"))));
+	}
+}
@@ -0,0 +1,91 @@
+package com.examscheduler.backend.controller;
+
+import com.examscheduler.backend.security.AuthenticatedUser;
+import com.examscheduler.backend.service.ExamChangedEvent;
+import com.examscheduler.backend.service.ExamEventHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// streams are opened through the endpoint, so events are written by the real emitters
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExamStreamTests {
+
+	private static final long WAIT_MILLIS = 5_000;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExamEventHub hub;
+
+	private final List<MvcResult> streams = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+	}
+
+	@Test
+	void changeIsWrittenToEveryStreamOfTheUser() throws Exception {
+		MvcResult first = open(9001L);
+		MvcResult second = open(9001L);
+		MvcResult other = open(9002L);
+
+		hub.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.UPDATED, 9001L, 42L));
+
+		for (MvcResult stream : List.of(first, second)) {
+			String body = awaitContent(stream, "event:updated");
+			assertThat(body).contains("\"examId\":42", "\"type\":\"UPDATED\"");
+		}
+		assertThat(other.getResponse().getContentAsString()).doesNotContain("event:");
+	}
+
+	@Test
+	void completedStreamIsRemoved() throws Exception {
+		int before = hub.getConnectionCount();
+		MvcResult stream = open(9003L);
+		assertThat(hub.getConnectionCount()).isEqualTo(before + 1);
+
+		streams.remove(stream);
+		stream.getRequest().getAsyncContext().complete();
+
+		assertThat(hub.getConnectionCount()).isEqualTo(before);
+	}
+
+	private MvcResult open(Long userId) throws Exception {
+		AuthenticatedUser principal = new AuthenticatedUser(userId, "stream-" + userId + "@example.com", "hash",
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+		MvcResult stream = mockMvc.perform(get("/api/exams/stream").with(user(principal)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		streams.add(stream);
+		return stream;
+	}
+
+	// events are written by a virtual thread after onExamChanged returns
+	private static String awaitContent(MvcResult stream, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		String body = stream.getResponse().getContentAsString();
+		while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			body = stream.getResponse().getContentAsString();
+		}
+		assertThat(body).contains(expected);
+		return body;
+	}
+}
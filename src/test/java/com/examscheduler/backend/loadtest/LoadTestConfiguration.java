@@ -0,0 +1,42 @@
+package com.examscheduler.backend.loadtest;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// server-side hooks of the load test: per-endpoint sql statement counts, authentication included
+// registered explicitly by LoadTestRunner rather than annotated, so component scanning in the
+// regular tests never picks it up
+public class LoadTestConfiguration {
+
+	// "METHOD /pattern" -> {requests, statements}
+	static final Map<String, LongAdder[]> QUERY_COUNTS = new ConcurrentHashMap<>();
+
+	@Bean
+	public FilterRegistrationBean<Filter> queryCountFilter() {
+		Filter filter = (request, response, chain) -> {
+			QueryCountingInspector.reset();
+			try {
+				chain.doFilter(request, response);
+			} finally {
+				HttpServletRequest http = (HttpServletRequest) request;
+				Object pattern = http.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+				String endpoint = http.getMethod() + " " + (pattern != null ? pattern : http.getRequestURI());
+				LongAdder[] counts = QUERY_COUNTS.computeIfAbsent(endpoint, key -> new LongAdder[]{new LongAdder(), new LongAdder()});
+				counts[0].increment();
+				counts[1].add(QueryCountingInspector.current());
+			}
+		};
+		FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+}
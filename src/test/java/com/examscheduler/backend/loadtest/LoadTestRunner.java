@@ -0,0 +1,349 @@
+package com.examscheduler.backend.loadtest;
+
+import com.examscheduler.backend.BackendApplication;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// boots the application on an embedded h2 database, seeds users x exams and drives a weighted
+// mix of endpoint calls at a fixed arrival rate (open model: a slow server does not slow the
+// arrivals down), then writes throughput, hdr latency percentiles and sql statements per request
+// for every endpoint to a json report that can be diffed between releases
+//
+// knobs, all system properties:
+//   loadtest.users=50                 seeded users
+//   loadtest.exams-per-user=200       seeded exams per user
+//   loadtest.rate=300                 requests per second
+//   loadtest.duration=PT30S           measured phase
+//   loadtest.warmup=PT5S              unmeasured phase at the same rate
+//   loadtest.mix=signup:1,add:8,list:30,page:15,get:30,update:8,delete:8
+//   loadtest.auth=basic               basic or token
+//   loadtest.virtual-threads=true     run the server on virtual threads or the platform pool
+//   loadtest.sse-connections=0        idle exam streams held open to measure their heap cost
+//   loadtest.report=target/loadtest-report.json
+public class LoadTestRunner {
+
+	private static final String PASSWORD = "loadtest-password";
+	private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+	private final List<String> usernames = new ArrayList<>();
+	private final List<String> authorizations = new ArrayList<>();
+	private final List<ConcurrentLinkedDeque<Long>> examIds = new ArrayList<>();
+	// every add and update gets its own two-hour slot so no request fails on a conflict
+	private final AtomicLong nextSlot = new AtomicLong(1_000_000);
+	private final AtomicLong nextSignup = new AtomicLong();
+
+	private String baseUrl;
+
+	public static void main(String[] args) throws Exception {
+		new LoadTestRunner().run();
+		System.exit(0);
+	}
+
+	private void run() throws Exception {
+		int users = Integer.getInteger("loadtest.users", 50);
+		int examsPerUser = Integer.getInteger("loadtest.exams-per-user", 200);
+		int rate = Integer.getInteger("loadtest.rate", 300);
+		Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+		Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+		String mix = System.getProperty("loadtest.mix", "signup:1,add:8,list:30,page:15,get:30,update:8,delete:8");
+		String auth = System.getProperty("loadtest.auth", "basic");
+		boolean virtualThreads = Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "true"));
+		int sseConnections = Integer.getInteger("loadtest.sse-connections", 0);
+		Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class, LoadTestConfiguration.class)
+				.profiles("loadtest")
+				.properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads)
+				.run()) {
+			baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+			seed(context, users, examsPerUser);
+			for (int i = 0; i < users; i++) {
+				authorizations.add(auth.equals("token") ? bearer(usernames.get(i)) : basic(usernames.get(i)));
+			}
+
+			Map<String, Object> streams = sseConnections > 0 ? holdStreams(sseConnections) : null;
+
+			List<String> operations = weightedOperations(mix);
+			drive(operations, rate, warmup);
+			endpoints.clear();
+			LoadTestConfiguration.QUERY_COUNTS.clear();
+			long startedAt = System.nanoTime();
+			drive(operations, rate, duration);
+			double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+			Map<String, Object> config = new LinkedHashMap<>();
+			config.put("users", users);
+			config.put("examsPerUser", examsPerUser);
+			config.put("targetRate", rate);
+			config.put("duration", duration.toString());
+			config.put("mix", mix);
+			config.put("auth", auth);
+			config.put("virtualThreads", virtualThreads);
+
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("config", config);
+			result.put("elapsedSeconds", elapsedSeconds);
+			result.put("endpoints", endpointReport(elapsedSeconds));
+			result.put("sqlStatementsPerRequest", queryReport());
+			if (streams != null) {
+				result.put("sse", streams);
+			}
+
+			Files.createDirectories(report.toAbsolutePath().getParent());
+			objectMapper.writeValue(report.toFile(), result);
+			System.out.println(objectMapper.writeValueAsString(result));
+		}
+	}
+
+	private void seed(ConfigurableApplicationContext context, int users, int examsPerUser) {
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		ExamRepository examRepository = context.getBean(ExamRepository.class);
+		// one hash shared by every seeded user, seeding should not be dominated by bcrypt
+		String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+		for (int i = 0; i < users; i++) {
+			User user = new User();
+			user.setUsername("user" + i + "@loadtest.local");
+			user.setPassword(hash);
+			user = userRepository.save(user);
+			usernames.add(user.getUsername());
+
+			List<Exam> exams = new ArrayList<>(examsPerUser);
+			for (int j = 0; j < examsPerUser; j++) {
+				Exam exam = new Exam("Subject " + j, BASE.plusHours(2L * j), "Room " + i + "-" + (j % 20), user);
+				exam.setDurationMinutes(90);
+				exams.add(exam);
+			}
+			ConcurrentLinkedDeque<Long> ids = new ConcurrentLinkedDeque<>();
+			for (Exam exam : examRepository.saveAll(exams)) {
+				ids.add(exam.getId());
+			}
+			examIds.add(ids);
+		}
+	}
+
+	// issues requests at a fixed rate on virtual threads until the phase is over, then waits for stragglers
+	private void drive(List<String> operations, int rate, Duration phase) throws InterruptedException {
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		long end = System.nanoTime() + phase.toNanos();
+		try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+			long next = System.nanoTime();
+			while (next < end) {
+				long wait = next - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				// latency is measured from the intended send time, so queueing is not hidden
+				long intended = next;
+				String operation = operations.get(ThreadLocalRandom.current().nextInt(operations.size()));
+				requests.execute(() -> call(operation, intended));
+				next += intervalNanos;
+			}
+		}
+	}
+
+	private void call(String operation, long intendedNanos) {
+		Random random = ThreadLocalRandom.current();
+		int user = random.nextInt(usernames.size());
+		String authorization = authorizations.get(user);
+		ConcurrentLinkedDeque<Long> ids = examIds.get(user);
+		HttpRequest.Builder request;
+		Long examId;
+		switch (operation) {
+			case "signup" -> request = post("/api/auth/signup", "{\"username\":\"signup" + nextSignup.incrementAndGet()
+					+ "@loadtest.local\",\"password\":\"" + PASSWORD + "\"}");
+			case "add" -> {
+				LocalDateTime start = BASE.plusHours(2 * nextSlot.incrementAndGet());
+				request = post("/api/exams/add", "{\"subject\":\"Added\",\"examDate\":\"" + start.toLocalDate()
+						+ "\",\"examTime\":\"" + start.toLocalTime() + "\",\"location\":\"Annex " + start + "\",\"durationMinutes\":60}")
+						.header("Authorization", authorization);
+			}
+			case "list" -> request = get("/api/exams/all").header("Authorization", authorization);
+			case "page" -> request = get("/api/exams/page?limit=50").header("Authorization", authorization);
+			case "get" -> {
+				examId = ids.peekLast();
+				if (examId == null) {
+					return;
+				}
+				request = get("/api/exams/" + examId).header("Authorization", authorization);
+			}
+			case "update" -> {
+				examId = ids.peekFirst();
+				if (examId == null) {
+					return;
+				}
+				LocalDateTime start = BASE.plusHours(2 * nextSlot.incrementAndGet());
+				request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/exams/" + examId))
+						.PUT(HttpRequest.BodyPublishers.ofString("{\"subject\":\"Updated\",\"examDate\":\"" + start
+								+ ":00.000Z\",\"location\":\"Moved " + start + "\"}"))
+						.header("Content-Type", "application/json")
+						.header("Authorization", authorization);
+			}
+			case "delete" -> {
+				examId = ids.pollFirst();
+				if (examId == null) {
+					return;
+				}
+				request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/exams/" + examId)).DELETE()
+						.header("Authorization", authorization);
+			}
+			default -> throw new IllegalArgumentException("Unknown operation " + operation);
+		}
+
+		Endpoint endpoint = endpoints.computeIfAbsent(operation, key -> new Endpoint());
+		try {
+			HttpResponse<Void> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+					HttpResponse.BodyHandlers.discarding());
+			endpoint.record(System.nanoTime() - intendedNanos, response.statusCode());
+		} catch (Exception e) {
+			endpoint.record(System.nanoTime() - intendedNanos, -1);
+		}
+	}
+
+	// opens idle exam streams and reports the heap they retain on the server
+	private Map<String, Object> holdStreams(int count) throws Exception {
+		long before = usedHeapAfterGc();
+		List<InputStream> open = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			HttpRequest request = get("/api/exams/stream")
+					.header("Authorization", authorizations.get(i % authorizations.size()))
+					.header("Accept", "text/event-stream")
+					.build();
+			open.add(client.send(request, HttpResponse.BodyHandlers.ofInputStream()).body());
+		}
+		long after = usedHeapAfterGc();
+		Map<String, Object> streams = new LinkedHashMap<>();
+		streams.put("connections", count);
+		streams.put("heapBytesBefore", before);
+		streams.put("heapBytesAfter", after);
+		streams.put("heapBytesPerConnection", (after - before) / count);
+		return streams;
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(200);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private Map<String, Object> endpointReport(double elapsedSeconds) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		endpoints.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+			Histogram latency = entry.getValue().latencyMicros;
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("requests", latency.getTotalCount());
+			row.put("throughputPerSecond", latency.getTotalCount() / elapsedSeconds);
+			row.put("statusCodes", new LinkedHashMap<>(entry.getValue().statusCodes));
+			Map<String, Object> micros = new LinkedHashMap<>();
+			micros.put("p50", latency.getValueAtPercentile(50));
+			micros.put("p90", latency.getValueAtPercentile(90));
+			micros.put("p99", latency.getValueAtPercentile(99));
+			micros.put("p999", latency.getValueAtPercentile(99.9));
+			micros.put("max", latency.getMaxValue());
+			micros.put("mean", latency.getMean());
+			row.put("latencyMicros", micros);
+			result.put(entry.getKey(), row);
+		});
+		return result;
+	}
+
+	private Map<String, Object> queryReport() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		LoadTestConfiguration.QUERY_COUNTS.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+			long requests = entry.getValue()[0].sum();
+			result.put(entry.getKey(), requests == 0 ? 0 : (double) entry.getValue()[1].sum() / requests);
+		});
+		return result;
+	}
+
+	private static List<String> weightedOperations(String mix) {
+		List<String> operations = new ArrayList<>();
+		for (String part : mix.split(",")) {
+			String[] weighted = part.trim().split(":");
+			for (int i = 0; i < Integer.parseInt(weighted[1]); i++) {
+				operations.add(weighted[0]);
+			}
+		}
+		return operations;
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+	}
+
+	private HttpRequest.Builder post(String path, String json) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.header("Content-Type", "application/json");
+	}
+
+	private static String basic(String username) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String bearer(String username) throws Exception {
+		HttpResponse<String> response = client.send(post("/api/auth/login",
+				"{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}").build(),
+				HttpResponse.BodyHandlers.ofString());
+		JsonNode body = objectMapper.readTree(response.body());
+		return "Bearer " + body.get("token").asText();
+	}
+
+	private static final class Endpoint {
+
+		private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+		private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+		void record(long nanos, int status) {
+			latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latencyMicros.getHighestTrackableValue()));
+			statusCodes.computeIfAbsent(status, key -> new LongAdder()).increment();
+		}
+	}
+}
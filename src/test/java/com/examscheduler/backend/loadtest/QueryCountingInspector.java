@@ -0,0 +1,23 @@
+package com.examscheduler.backend.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// counts the sql statements hibernate prepares on the current thread, sql is passed through untouched
+public class QueryCountingInspector implements StatementInspector {
+
+	private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+	@Override
+	public String inspect(String sql) {
+		COUNT.get()[0]++;
+		return sql;
+	}
+
+	static void reset() {
+		COUNT.get()[0] = 0;
+	}
+
+	static int current() {
+		return COUNT.get()[0];
+	}
+}
@@ -0,0 +1,46 @@
+package com.examscheduler.backend.reminder;
+
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.repository.SentReminderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// claims commit on their own, so the markers are removed after each test
+@SpringBootTest
+class ReminderSchedulerTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+	@Autowired
+	private ReminderScheduler scheduler;
+
+	@Autowired
+	private SentReminderRepository sentReminderRepository;
+
+	@AfterEach
+	void tearDown() {
+		sentReminderRepository.deleteAll();
+	}
+
+	@Test
+	void reminderIsClaimedOnlyOnce() {
+		ExamSlot slot = new ExamSlot(1L, 1L, "Physics", NINE, 60, "Hall A");
+
+		assertThat(scheduler.claim(slot)).isTrue();
+		// what a second instance finds when the wheel fires the same reminder there
+		assertThat(scheduler.claim(slot)).isFalse();
+	}
+
+	@Test
+	void movedExamIsClaimedAgainForItsNewStart() {
+		assertThat(scheduler.claim(new ExamSlot(2L, 1L, "Physics", NINE, 60, "Hall A"))).isTrue();
+
+		assertThat(scheduler.claim(new ExamSlot(2L, 1L, "Physics", NINE.plusDays(1), 60, "Hall A"))).isTrue();
+	}
+}
@@ -0,0 +1,83 @@
+package com.examscheduler.backend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+	// 1 ms ticks, 4 buckets per level and 3 levels: entries up to 48 ticks ahead cascade twice
+	private TimingWheel<String> wheel() {
+		return new TimingWheel<>(1, 4, 3, 0);
+	}
+
+	@Test
+	void firesAtTheDeadlineAndNotBefore() {
+		TimingWheel<String> wheel = wheel();
+		wheel.schedule(1, 37, "exam");
+
+		assertThat(wheel.advance(36)).isEmpty();
+		assertThat(wheel.advance(37)).containsExactly("exam");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cancelledAndRescheduledEntriesFireOnlyOnce() {
+		TimingWheel<String> wheel = wheel();
+		wheel.schedule(1, 10, "cancelled");
+		wheel.schedule(2, 20, "moved");
+		wheel.cancel(1);
+		wheel.schedule(2, 30, "moved");
+
+		assertThat(wheel.advance(29)).isEmpty();
+		assertThat(wheel.advance(30)).containsExactly("moved");
+	}
+
+	@Test
+	void overdueEntryFiresOnTheNextTick() {
+		TimingWheel<String> wheel = wheel();
+		wheel.advance(100);
+		wheel.schedule(1, 50, "late");
+
+		assertThat(wheel.advance(101)).containsExactly("late");
+	}
+
+	@Test
+	void rejectsDeadlinesBeyondTheHorizon() {
+		TimingWheel<String> wheel = wheel();
+
+		assertThat(wheel.horizonMillis()).isEqualTo(48);
+		assertThat(wheel.schedule(1, 48, "last")).isTrue();
+		assertThat(wheel.schedule(2, 500, "too far")).isFalse();
+		assertThat(wheel.contains(2)).isFalse();
+	}
+
+	@Test
+	void everyEntryFiresExactlyOnceOnItsTick() {
+		TimingWheel<String> wheel = wheel();
+		Random random = new Random(7);
+		Map<Long, List<String>> expected = new HashMap<>();
+		long now = 0;
+		int id = 0;
+		for (int round = 0; round < 200; round++) {
+			for (int i = 0; i < 5; i++) {
+				long deadline = now + 1 + random.nextInt(45);
+				String value = "e" + id;
+				wheel.schedule(id++, deadline, value);
+				expected.computeIfAbsent(deadline, key -> new ArrayList<>()).add(value);
+			}
+			long step = 1 + random.nextInt(3);
+			for (long t = now + 1; t <= now + step; t++) {
+				assertThat(wheel.advance(t)).containsExactlyInAnyOrderElementsOf(expected.getOrDefault(t, List.of()));
+				expected.remove(t);
+			}
+			now += step;
+		}
+	}
+}
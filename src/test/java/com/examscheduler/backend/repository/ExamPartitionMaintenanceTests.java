@@ -0,0 +1,34 @@
+package com.examscheduler.backend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExamPartitionMaintenanceTests {
+
+	@Test
+	void alignsTermsOnTheYear() {
+		ExamPartitionMaintenance sixMonths = maintenance(6);
+
+		assertThat(sixMonths.termStart(LocalDate.of(2026, 1, 1))).isEqualTo(LocalDate.of(2026, 1, 1));
+		assertThat(sixMonths.termStart(LocalDate.of(2026, 6, 30))).isEqualTo(LocalDate.of(2026, 1, 1));
+		assertThat(sixMonths.termStart(LocalDate.of(2026, 7, 1))).isEqualTo(LocalDate.of(2026, 7, 1));
+		assertThat(sixMonths.termStart(LocalDate.of(2026, 12, 31))).isEqualTo(LocalDate.of(2026, 7, 1));
+		assertThat(maintenance(4).termStart(LocalDate.of(2026, 10, 18))).isEqualTo(LocalDate.of(2026, 9, 1));
+	}
+
+	@Test
+	void rejectsTermsThatDoNotDivideTheYear() {
+		assertThatThrownBy(() -> maintenance(5)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static ExamPartitionMaintenance maintenance(int monthsPerPartition) {
+		return new ExamPartitionMaintenance(null, null, false, monthsPerPartition, 2, Period.ofYears(2),
+				"exams_archive", Duration.ofHours(6), Duration.ofSeconds(5));
+	}
+}
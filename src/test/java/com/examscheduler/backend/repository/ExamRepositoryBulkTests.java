@@ -0,0 +1,53 @@
+package com.examscheduler.backend.repository;
+
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ExamRepositoryBulkTests {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+	private static final LocalDateTime TO = LocalDateTime.of(2031, 1, 1, 0, 0);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ExamRepository examRepository;
+
+	private Long ownerId;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("owner@example.com");
+		owner.setPassword("hash");
+		entityManager.persist(owner);
+		entityManager.persist(new Exam("Algebra", LocalDateTime.of(2030, 1, 10, 9, 0), "Hall A", owner));
+		// stored through the update endpoint, which does not validate its body
+		entityManager.persist(new Exam(null, LocalDateTime.of(2030, 1, 11, 9, 0), null, owner));
+		entityManager.flush();
+		entityManager.clear();
+		ownerId = owner.getId();
+	}
+
+	@Test
+	void matchAnyPatternsIncludeExamsWithoutSubjectOrLocation() {
+		assertThat(examRepository.deleteMatchingByUserId(ownerId, FROM, TO, "%", "%")).isEqualTo(2);
+	}
+
+	@Test
+	void specificPatternsStillSkipExamsWithoutSubjectOrLocation() {
+		assertThat(examRepository.relocateByUserId(ownerId, FROM, TO, "%", "hall a", "Hall B")).isEqualTo(1);
+		assertThat(examRepository.shiftByUserId(ownerId, FROM, TO, "alg%", "%", 30)).isEqualTo(1);
+	}
+}
@@ -0,0 +1,87 @@
+package com.examscheduler.backend.repository;
+
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// locks in that every owner-scoped exam operation costs exactly one sql statement
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ExamRepositoryQueryCountTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ExamRepository examRepository;
+
+	private Statistics statistics;
+	private Long ownerId;
+	private Long strangerId;
+	private Long examId;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("owner@example.com");
+		owner.setPassword("hash");
+		User stranger = new User();
+		stranger.setUsername("stranger@example.com");
+		stranger.setPassword("hash");
+		entityManager.persist(owner);
+		entityManager.persist(stranger);
+		Exam exam = entityManager.persist(new Exam("Algebra", LocalDateTime.of(2030, 1, 10, 9, 0), "Hall A", owner));
+		entityManager.flush();
+		entityManager.clear();
+
+		ownerId = owner.getId();
+		strangerId = stranger.getId();
+		examId = exam.getId();
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findByIdAndOwnerIsOneStatement() {
+		assertThat(examRepository.findSummaryByIdAndUserId(examId, ownerId)).isPresent();
+		assertThat(examRepository.findSummaryByIdAndUserId(examId, strangerId)).isEmpty();
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void updateByIdAndOwnerIsOneStatement() {
+		int updated = examRepository.updateByIdAndUserId(examId, ownerId, "Geometry",
+				LocalDateTime.of(2030, 1, 11, 9, 0), "Hall B", null);
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void updateByIdAndOtherOwnerMatchesNothing() {
+		int updated = examRepository.updateByIdAndUserId(examId, strangerId, "Geometry",
+				LocalDateTime.of(2030, 1, 11, 9, 0), "Hall B", 90);
+
+		assertThat(updated).isZero();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void deleteByIdAndOwnerIsOneStatement() {
+		assertThat(examRepository.deleteByIdAndUserId(examId, strangerId)).isZero();
+		assertThat(examRepository.deleteByIdAndUserId(examId, ownerId)).isEqualTo(1);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,59 @@
+package com.examscheduler.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// every mock request comes from the same address, as clients behind a shared proxy do
+@SpringBootTest(properties = {
+		"admission.auth-failures.rate=0.01",
+		"admission.auth-failures.burst=3"
+})
+@AutoConfigureMockMvc
+class AuthenticationThrottleFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void floodOfBadCredentialsIsAnsweredWith429() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/exams/all").with(httpBasic("guessed@example.com", "wrong" + i)))
+					.andExpect(status().isUnauthorized());
+		}
+
+		mockMvc.perform(get("/api/exams/all").with(httpBasic(" Guessed@Example.com", "wrong")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void throttledUsernameDoesNotLockOutOthersOnTheSameAddress() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/exams/all").with(httpBasic("attacked@example.com", "wrong" + i)))
+					.andExpect(status().isUnauthorized());
+		}
+		mockMvc.perform(get("/api/exams/all").with(httpBasic("attacked@example.com", "wrong")))
+				.andExpect(status().isTooManyRequests());
+
+		// a neighbour behind the same proxy still gets their password checked
+		mockMvc.perform(get("/api/exams/all").with(httpBasic("neighbour@example.com", "typo")))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void requestsWithoutCredentialsAreNotCountedAsFailures() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			mockMvc.perform(get("/api/exams/all"))
+					.andExpect(status().isUnauthorized());
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.examscheduler.backend.security;
+
+import com.examscheduler.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(CustomUserDetailsService.class)
+class CustomUserDetailsServiceTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@BeforeEach
+	void setUp() {
+		entityManager.persist(user("admin@uni.edu", User.Role.ADMIN));
+		entityManager.persist(user("ADMIN@uni.edu", null));
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void grantsAdminFromTheStoredRole() {
+		UserDetails admin = userDetailsService.loadUserByUsername("admin@uni.edu");
+
+		assertThat(AuthorityUtils.authorityListToSet(admin.getAuthorities()))
+				.containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+	}
+
+	@Test
+	void usernameDifferingOnlyInCaseIsNotAdmin() {
+		UserDetails lookalike = userDetailsService.loadUserByUsername("ADMIN@uni.edu");
+
+		assertThat(lookalike.getUsername()).isEqualTo("ADMIN@uni.edu");
+		assertThat(AuthorityUtils.authorityListToSet(lookalike.getAuthorities())).containsExactly("ROLE_USER");
+	}
+
+	private static User user(String username, User.Role role) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,70 @@
+package com.examscheduler.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTests {
+
+	private static final AuthenticatedUser PRINCIPAL = new AuthenticatedUser(7L, "user@example.com", "$2a$hash",
+			AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+	@Test
+	void verifiedPairIsServedFromTheCache() {
+		PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+		cache.put(PRINCIPAL, "secret");
+
+		AuthenticatedUser cached = cache.lookup("user@example.com", "secret");
+
+		assertThat(cached).isNotNull().isNotSameAs(PRINCIPAL);
+		assertThat(cached.getUserId()).isEqualTo(7L);
+		assertThat(cached.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+		assertThat(cache.getHits()).isEqualTo(1);
+	}
+
+	@Test
+	void otherPasswordIsAMiss() {
+		PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+		cache.put(PRINCIPAL, "secret");
+
+		assertThat(cache.lookup("user@example.com", "Secret")).isNull();
+		assertThat(cache.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	void invalidatedUserIsVerifiedAgain() {
+		PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+		cache.put(PRINCIPAL, "secret");
+
+		cache.invalidate("user@example.com");
+
+		assertThat(cache.lookup("user@example.com", "secret")).isNull();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.getEvictions()).isEqualTo(1);
+	}
+
+	@Test
+	void entryExpiresAfterTheTtl() throws InterruptedException {
+		PrincipalCache cache = new PrincipalCache(10, Duration.ofMillis(1));
+		cache.put(PRINCIPAL, "secret");
+
+		Thread.sleep(10);
+
+		assertThat(cache.lookup("user@example.com", "secret")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void fullCacheDropsTheOldestEntry() {
+		PrincipalCache cache = new PrincipalCache(1, Duration.ofMinutes(5));
+		cache.put(PRINCIPAL, "secret");
+
+		cache.put(new AuthenticatedUser(8L, "other@example.com", "$2a$other", PRINCIPAL.getAuthorities()), "secret");
+
+		assertThat(cache.lookup("user@example.com", "secret")).isNull();
+		assertThat(cache.lookup("other@example.com", "secret")).isNotNull();
+	}
+}
@@ -0,0 +1,48 @@
+package com.examscheduler.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void admitsBurstThenSustainedRate() {
+		RateLimiter limiter = new RateLimiter(10, 5, 100, 0);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("alice", 0)).isZero();
+		}
+		assertThat(limiter.tryAcquire("alice", 0)).isEqualTo(SECOND / 10);
+		assertThat(limiter.tryAcquire("alice", SECOND / 10)).isZero();
+		assertThat(limiter.tryAcquire("alice", SECOND / 10)).isPositive();
+	}
+
+	@Test
+	void keepsKeysApart() {
+		RateLimiter limiter = new RateLimiter(1, 1, 100, 0);
+
+		assertThat(limiter.tryAcquire("alice", 0)).isZero();
+		assertThat(limiter.tryAcquire("alice", 0)).isPositive();
+		assertThat(limiter.tryAcquire("bob", 0)).isZero();
+	}
+
+	@Test
+	void evictsIdleBucketsWhenFull() {
+		RateLimiter limiter = new RateLimiter(1, 1, 2, 0);
+		limiter.tryAcquire("alice", 0);
+		limiter.tryAcquire("bob", 0);
+
+		// both buckets still busy: the newcomer shares the overflow bucket instead of growing the map
+		assertThat(limiter.tryAcquire("carol", 0)).isZero();
+		assertThat(limiter.size()).isEqualTo(2);
+
+		// once idle the old buckets are swept and new keys get their own again
+		assertThat(limiter.tryAcquire("dave", 2 * SECOND)).isZero();
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,37 @@
+package com.examscheduler.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,prometheus")
+@AutoConfigureMockMvc
+class SecurityConfigTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void metricsAreForAdminsOnly() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").with(user("student@example.com").roles("USER")))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics/hibernate.statements").with(user("student@example.com").roles("USER")))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/prometheus").with(user("admin@example.com").roles("USER", "ADMIN")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void healthStaysOpen() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,72 @@
+package com.examscheduler.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceTests {
+
+	private static final String SECRET = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+	private final AuthenticatedUser alice = new AuthenticatedUser(42L, "alice@example.com", "hash",
+			AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+	@Test
+	void verifiesTokenItIssued() {
+		TokenService tokens = new TokenService(true, SECRET, Duration.ofMinutes(15));
+
+		AuthenticatedUser principal = tokens.verify(tokens.issue(alice));
+
+		assertThat(principal).isNotNull();
+		assertThat(principal.getUserId()).isEqualTo(42L);
+		assertThat(principal.getUsername()).isEqualTo("alice@example.com");
+	}
+
+	@Test
+	void carriesTheRoleOfThePrincipal() {
+		TokenService tokens = new TokenService(true, SECRET, Duration.ofMinutes(15));
+		AuthenticatedUser admin = new AuthenticatedUser(7L, "admin@example.com", "hash",
+				AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+		assertThat(AuthorityUtils.authorityListToSet(tokens.verify(tokens.issue(admin)).getAuthorities()))
+				.containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+		assertThat(AuthorityUtils.authorityListToSet(tokens.verify(tokens.issue(alice)).getAuthorities()))
+				.containsExactly("ROLE_USER");
+	}
+
+	@Test
+	void rejectsTamperedToken() {
+		TokenService tokens = new TokenService(true, SECRET, Duration.ofMinutes(15));
+		String token = tokens.issue(alice);
+		String forgedPayload = java.util.Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("42:99999999999:ADMIN:alice@example.com".getBytes());
+
+		assertThat(tokens.verify(forgedPayload + token.substring(token.indexOf('.')))).isNull();
+		assertThat(tokens.verify("garbage")).isNull();
+	}
+
+	@Test
+	void rejectsTokenSignedWithAnotherSecret() {
+		TokenService issuer = new TokenService(true, "", Duration.ofMinutes(15));
+		TokenService verifier = new TokenService(true, SECRET, Duration.ofMinutes(15));
+
+		assertThat(verifier.verify(issuer.issue(alice))).isNull();
+	}
+
+	@Test
+	void rejectsExpiredToken() {
+		Instant issuedAt = Instant.parse("2025-01-01T10:00:00Z");
+		TokenService issuer = new TokenService(true, SECRET, Duration.ofMinutes(15),
+				Clock.fixed(issuedAt, ZoneOffset.UTC));
+		TokenService later = new TokenService(true, SECRET, Duration.ofMinutes(15),
+				Clock.fixed(issuedAt.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+		assertThat(later.verify(issuer.issue(alice))).isNull();
+	}
+}
@@ -0,0 +1,104 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ConflictResponse;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ExamConflictService.class, ExamBookingLocks.class})
+class ExamConflictServiceTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 6, 3, 9, 0);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ExamConflictService conflicts;
+
+	@Autowired
+	private ExamRepository examRepository;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setUsername("owner@example.com");
+		user.setPassword("hash");
+		entityManager.persistAndFlush(user);
+	}
+
+	@Test
+	void writeCheckReadsTheDatabaseUnderLock() {
+		// loads both indexes while the slot is still free
+		assertThat(conflicts.findConflicts(user.getId(), NINE, 60, "Hall A", null).getUserConflicts()).isEmpty();
+
+		// stored through another instance, this one never hears of it
+		Exam exam = exam("Hall A");
+
+		ConflictResponse found = conflicts.lockAndFindConflicts(user.getId(), NINE.plusMinutes(30), 60, " hall a", null);
+		assertThat(found.getUserConflicts()).extracting(ConflictResponse.ConflictingExam::id).containsExactly(exam.getId());
+		assertThat(found.getLocationConflicts()).hasSize(1);
+
+		assertThat(conflicts.lockAndFindConflicts(user.getId(), NINE.plusMinutes(30), 60, "Hall A", exam.getId())
+				.getUserConflicts()).isEmpty();
+	}
+
+	@Test
+	void committedChangesReachTheLoadedIndexes() {
+		conflicts.findConflicts(user.getId(), NINE, 60, "Hall A", null);
+		conflicts.findConflicts(user.getId(), NINE, 60, "Hall B", null);
+
+		Exam exam = exam("Hall A");
+		conflicts.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.ADDED, user.getId(), exam.getId()));
+
+		assertThat(conflicts.findConflicts(user.getId(), NINE, 60, "Hall A", null).getLocationConflicts()).hasSize(1);
+
+		exam.setLocation("Hall B");
+		entityManager.flush();
+		conflicts.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.UPDATED, user.getId(), exam.getId()));
+
+		assertThat(conflicts.findConflicts(user.getId(), NINE, 60, "Hall A", null).getLocationConflicts()).isEmpty();
+		assertThat(conflicts.findConflicts(user.getId(), NINE, 60, "Hall B", null).getLocationConflicts()).hasSize(1);
+
+		conflicts.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.DELETED, user.getId(), exam.getId()));
+
+		ConflictResponse afterDelete = conflicts.findConflicts(user.getId(), NINE, 60, "Hall B", null);
+		assertThat(afterDelete.getUserConflicts()).isEmpty();
+		assertThat(afterDelete.getLocationConflicts()).isEmpty();
+	}
+
+	@Test
+	void bulkChangeDropsTheUsersIndexesAndTheLocationsItBookedInto() {
+		Exam exam = exam("Hall A");
+		conflicts.findConflicts(user.getId(), NINE, 60, "Hall A", null);
+		conflicts.findConflicts(user.getId(), NINE, 60, "Hall C", null);
+
+		examRepository.relocateByUserId(user.getId(), NINE.minusDays(1), NINE.plusDays(1), "%", "%", "Hall C");
+		conflicts.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.BULK, user.getId(), null, Set.of("Hall C")));
+
+		ConflictResponse atC = conflicts.findConflicts(user.getId(), NINE, 60, "Hall C", null);
+		assertThat(atC.getUserConflicts()).extracting(ConflictResponse.ConflictingExam::location).containsExactly("Hall C");
+		assertThat(atC.getLocationConflicts()).extracting(ConflictResponse.ConflictingExam::id).containsExactly(exam.getId());
+		assertThat(conflicts.findConflicts(user.getId(), NINE, 60, "Hall A", null).getLocationConflicts()).isEmpty();
+	}
+
+	private Exam exam(String location) {
+		Exam exam = new Exam("Physics", NINE, location, user);
+		exam.setDurationMinutes(60);
+		return entityManager.persistAndFlush(exam);
+	}
+}
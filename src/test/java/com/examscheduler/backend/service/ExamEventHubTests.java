@@ -0,0 +1,83 @@
+package com.examscheduler.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the writer is held up by a task queued ahead of every drain, so events pile up in the
+// connections' queues exactly as they would for clients that stopped reading
+class ExamEventHubTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private ExecutorService writers;
+	private ExamEventHub hub;
+
+	@BeforeEach
+	void setUp() {
+		writers = Executors.newSingleThreadExecutor();
+		writers.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		hub = new ExamEventHub(Duration.ofMinutes(1), 2, 3, Duration.ofHours(1), writers);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		hub.shutdown();
+	}
+
+	@Test
+	void subscribeCountsEachConnectionUpToTheLimit() {
+		hub.subscribe(1L);
+		hub.subscribe(1L);
+		hub.subscribe(2L);
+
+		assertThat(hub.getConnectionCount()).isEqualTo(3);
+		assertThatThrownBy(() -> hub.subscribe(3L))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+		assertThat(hub.getConnectionCount()).isEqualTo(3);
+	}
+
+	@Test
+	void connectionWhoseQueueIsFullIsClosed() {
+		hub.subscribe(1L);
+
+		for (int i = 0; i < 3; i++) {
+			hub.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.UPDATED, 1L, 10L + i));
+		}
+
+		assertThat(hub.getDroppedCount()).isEqualTo(1);
+		assertThat(hub.getConnectionCount()).isZero();
+	}
+
+	@Test
+	void eventsAreQueuedOnEveryConnectionOfTheUserOnly() {
+		hub.subscribe(1L);
+		hub.subscribe(1L);
+		hub.subscribe(2L);
+
+		// two events fill a queue of two, the third overflows every connection it reaches
+		for (int i = 0; i < 3; i++) {
+			hub.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.UPDATED, 1L, 10L + i));
+		}
+
+		assertThat(hub.getDroppedCount()).isEqualTo(2);
+		assertThat(hub.getConnectionCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,28 @@
+package com.examscheduler.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamImportCsvTests {
+
+	@Test
+	void splitsRecordsOnLineBreaks() {
+		assertThat(ExamImportService.parseCsv("a,b\r\nc,d\ne,f")).containsExactly(
+				List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+	}
+
+	@Test
+	void keepsLineBreaksAndCommasInsideQuotedFields() {
+		assertThat(ExamImportService.parseCsv("subject,location\n\"Physics,\nPart 1\",\"Hall \"\"A\"\"\"\n"))
+				.containsExactly(List.of("subject", "location"), List.of("Physics,\nPart 1", "Hall \"A\""));
+	}
+
+	@Test
+	void reportsBlankLinesAsSingleEmptyFields() {
+		assertThat(ExamImportService.parseCsv("a,b\n\nc,d\n")).containsExactly(
+				List.of("a", "b"), List.of(""), List.of("c", "d"));
+	}
+}
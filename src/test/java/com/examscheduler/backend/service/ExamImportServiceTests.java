@@ -0,0 +1,125 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.AddExamRequest;
+import com.examscheduler.backend.dto.BulkImportResponse;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class ExamImportServiceTests {
+
+	private static final LocalDate DAY = LocalDate.of(2030, 6, 3);
+	private static final LocalTime NINE = LocalTime.of(9, 0);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ExamImportService importService;
+
+	@Autowired
+	private ExamRepository examRepository;
+
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		User registrar = new User();
+		registrar.setUsername("registrar@example.com");
+		registrar.setPassword("hash");
+		entityManager.persist(registrar);
+		entityManager.flush();
+		userId = registrar.getId();
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(userId, registrar.getUsername(), "hash", List.of()), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void parallelSittingsOfOneUploaderAreAllStored() {
+		BulkImportResponse response = importService.importExams(List.of(
+				row("Physics", NINE, "Hall A"),
+				row("Chemistry", NINE, "Hall B"),
+				row("Biology", NINE.plusMinutes(30), "Hall C")));
+
+		assertThat(response.getErrors()).isEmpty();
+		assertThat(response.getImported()).isEqualTo(3);
+		assertThat(examRepository.findSlotsByUserId(userId)).hasSize(3);
+	}
+
+	@Test
+	void rowBookingAnOccupiedLocationIsRefused() {
+		BulkImportResponse response = importService.importExams(List.of(
+				row("Physics", NINE, "Hall A"),
+				row("Chemistry", NINE.plusMinutes(30), " hall a")));
+
+		assertThat(response.getImported()).isEqualTo(1);
+		assertThat(response.getErrors()).singleElement().satisfies(error -> {
+			assertThat(error.getRow()).isEqualTo(2);
+			assertThat(error.getMessages()).containsExactly("Location is already booked at that time");
+		});
+	}
+
+	@Test
+	void csvDurationColumnSetsTheExamLength() {
+		BulkImportResponse response = importService.importExamsCsv("""
+				subject,examDate,examTime,location,durationMinutes
+				Physics,2030-06-03,09:00,Hall A,150
+				Chemistry,2030-06-03,09:00,Hall B,
+				Biology,2030-06-03,09:00,Hall C,long
+				""");
+
+		assertThat(response.getImported()).isEqualTo(2);
+		assertThat(response.getErrors()).singleElement().satisfies(error -> {
+			assertThat(error.getRow()).isEqualTo(3);
+			assertThat(error.getMessages()).containsExactly("Invalid duration: long");
+		});
+		assertThat(examRepository.findSlotsByUserId(userId))
+				.extracting(ExamSlot::subject, ExamSlot::end)
+				.containsExactlyInAnyOrder(
+						tuple("Physics", DAY.atTime(11, 30)),
+						tuple("Chemistry", DAY.atTime(10, 0)));
+	}
+
+	@Test
+	void csvWithoutADurationColumnIsStillAccepted() {
+		BulkImportResponse response = importService.importExamsCsv("""
+				subject,examDate,examTime,location
+				Physics,2030-06-03,09:00,Hall A
+				""");
+
+		assertThat(response.getErrors()).isEmpty();
+		assertThat(response.getImported()).isEqualTo(1);
+	}
+
+	private static AddExamRequest row(String subject, LocalTime time, String location) {
+		AddExamRequest row = new AddExamRequest(subject, DAY, time, location);
+		row.setDurationMinutes(60);
+		return row;
+	}
+}
@@ -0,0 +1,65 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamSearchIndexTests {
+
+	private final ExamSearchIndex index = new ExamSearchIndex();
+
+	@BeforeEach
+	void setUp() {
+		index.put(exam(1, "Linear Algebra", "Hall A"));
+		index.put(exam(2, "Calculus II", "Science Building 101"));
+		index.put(exam(3, "Organic Chemistry", "Lab 3"));
+		index.put(exam(4, "Algorithms", "Hall B"));
+	}
+
+	@Test
+	void findsWordPrefixes() {
+		assertThat(ids(index.search("alg", 10))).containsExactly(1L, 4L);
+		assertThat(ids(index.search("ha", 10))).containsExactlyInAnyOrder(1L, 4L);
+	}
+
+	@Test
+	void findsSubstringsInsideWords() {
+		assertThat(ids(index.search("gebr", 10))).containsExactly(1L);
+		assertThat(ids(index.search("em", 10))).containsExactly(3L);
+	}
+
+	@Test
+	void toleratesTypos() {
+		assertThat(ids(index.search("calclus", 10))).containsExactly(2L);
+		assertThat(ids(index.search("chemsitry", 10))).containsExactly(3L);
+	}
+
+	@Test
+	void ranksPrefixMatchesAboveFuzzyOnes() {
+		index.put(exam(5, "Algebra Review", "Hall C"));
+
+		assertThat(ids(index.search("algebra", 10))).startsWith(1L, 5L);
+	}
+
+	@Test
+	void forgetsRemovedAndReplacedExams() {
+		index.remove(4L);
+		index.put(exam(1, "Statistics", "Hall A"));
+
+		assertThat(index.search("algebra", 10)).isEmpty();
+		assertThat(ids(index.search("stat", 10))).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	private static ExamSummary exam(long id, String subject, String location) {
+		return new ExamSummary(id, subject, LocalDateTime.of(2030, 1, 1, 9, 0).plusDays(id), location, 60);
+	}
+
+	private static java.util.List<Long> ids(java.util.List<ExamSummary> exams) {
+		return exams.stream().map(ExamSummary::id).toList();
+	}
+}
@@ -0,0 +1,146 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.BulkExamRequest;
+import com.examscheduler.backend.dto.ExamSlot;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// bulk moves are checked against existing bookings like single writes, and refused as a whole
+@SpringBootTest
+@Transactional
+class ExamServiceBulkTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 6, 3, 9, 0);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ExamService examService;
+
+	@Autowired
+	private ExamRepository examRepository;
+
+	private User owner;
+	private User other;
+
+	@BeforeEach
+	void setUp() {
+		owner = user("bulk-owner@example.com");
+		other = user("bulk-other@example.com");
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(owner.getId(), owner.getUsername(), "hash", List.of()), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void relocatingOntoAnotherUsersBookingIsRefused() {
+		exam(owner, "Physics", NINE, "Hall A");
+		exam(other, "History", NINE.plusMinutes(30), "Hall B");
+
+		assertConflict(() -> examService.relocateExams(relocate("Hall A", "Hall B")));
+		assertThat(locationsOf(owner)).containsExactly("Hall A");
+	}
+
+	@Test
+	void relocatingParallelSittingsIntoOneRoomIsRefused() {
+		exam(owner, "Physics", NINE, "Hall A");
+		exam(owner, "Chemistry", NINE, "Hall B");
+
+		assertConflict(() -> examService.relocateExams(relocate(null, "Hall C")));
+		assertThat(locationsOf(owner)).containsExactlyInAnyOrder("Hall A", "Hall B");
+	}
+
+	@Test
+	void reschedulingOntoAnExamLeftInPlaceIsRefused() {
+		exam(owner, "Physics", NINE, "Hall A");
+		exam(owner, "Chemistry", NINE.plusHours(2), "Hall B");
+
+		BulkExamRequest request = range();
+		request.setSubject("phys");
+		request.setOffsetMinutes(120L);
+
+		assertConflict(() -> examService.rescheduleExams(request));
+		assertThat(examRepository.findSlotsByUserId(owner.getId())).extracting(ExamSlot::start)
+				.containsExactlyInAnyOrder(NINE, NINE.plusHours(2));
+	}
+
+	@Test
+	void reschedulingIntoFreeTimeMovesEveryMatch() {
+		exam(owner, "Physics", NINE, "Hall A");
+		exam(owner, "Chemistry", NINE, "Hall B");
+		exam(other, "History", NINE.plusHours(1), "Hall A");
+
+		BulkExamRequest request = range();
+		request.setOffsetMinutes(180L);
+
+		assertThat(examService.rescheduleExams(request).getAffected()).isEqualTo(2);
+		entityManager.clear();
+		assertThat(examRepository.findSlotsByUserId(owner.getId())).extracting(ExamSlot::start)
+				.containsOnly(NINE.plusHours(3));
+	}
+
+	private void assertConflict(Runnable change) {
+		assertThatThrownBy(change::run)
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+	}
+
+	private List<String> locationsOf(User user) {
+		entityManager.clear();
+		return examRepository.findSlotsByUserId(user.getId()).stream().map(ExamSlot::location).toList();
+	}
+
+	private static BulkExamRequest range() {
+		BulkExamRequest request = new BulkExamRequest();
+		request.setFrom(NINE.toLocalDate());
+		request.setTo(NINE.toLocalDate());
+		return request;
+	}
+
+	private static BulkExamRequest relocate(String location, String newLocation) {
+		BulkExamRequest request = range();
+		request.setLocation(location);
+		request.setNewLocation(newLocation);
+		return request;
+	}
+
+	private User user(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		entityManager.persist(user);
+		return user;
+	}
+
+	private void exam(User user, String subject, LocalDateTime start, String location) {
+		Exam exam = new Exam(subject, start, location, user);
+		exam.setDurationMinutes(60);
+		entityManager.persist(exam);
+		entityManager.flush();
+	}
+}
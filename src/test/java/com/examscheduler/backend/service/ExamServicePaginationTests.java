@@ -0,0 +1,111 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamPageResponse;
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.exception.BadRequestException;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class ExamServicePaginationTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 2, 4, 9, 0);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ExamService examService;
+
+	// in listing order: three exams share the second start, so a page boundary falls inside the tie
+	private final List<Long> examIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("paged-owner@example.com");
+		owner.setPassword("hash");
+		entityManager.persist(owner);
+		persistExam(owner, "Algebra", NINE);
+		persistExam(owner, "Biology", NINE.plusDays(1));
+		persistExam(owner, "Chemistry", NINE.plusDays(1));
+		persistExam(owner, "Drama", NINE.plusDays(1));
+		persistExam(owner, "English", NINE.plusDays(2));
+		entityManager.flush();
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(owner.getId(), owner.getUsername(), "hash", List.of()), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void cursorsWalkEveryExamOnceInDateThenIdOrder() {
+		List<Long> seen = new ArrayList<>();
+		List<String> cursors = new ArrayList<>();
+		String cursor = null;
+		do {
+			ExamPageResponse page = examService.getExamPage(cursor, 2, null, null, null, true);
+			page.getItems().forEach(exam -> seen.add(exam.id()));
+			cursor = page.getNextCursor();
+			cursors.add(cursor);
+		} while (cursor != null);
+
+		assertThat(seen).containsExactlyElementsOf(examIds);
+		assertThat(cursors).hasSize(3).last().isNull();
+	}
+
+	@Test
+	void examsSharingAStartAreSplitByIdAcrossPages() {
+		ExamPageResponse first = examService.getExamPage(null, 2, null, null, null, true);
+		ExamPageResponse second = examService.getExamPage(first.getNextCursor(), 2, null, null, null, true);
+
+		assertThat(first.getItems()).extracting(ExamSummary::subject).containsExactly("Algebra", "Biology");
+		assertThat(second.getItems()).extracting(ExamSummary::subject).containsExactly("Chemistry", "Drama");
+		assertThat(second.getItems()).extracting(ExamSummary::examDate).containsOnly(NINE.plusDays(1));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		String notBase64 = "not a cursor!";
+		String wrongShape = Base64.getUrlEncoder().encodeToString("2030-02-04T09:00".getBytes(StandardCharsets.UTF_8));
+		String badDate = Base64.getUrlEncoder().encodeToString("yesterday|12".getBytes(StandardCharsets.UTF_8));
+
+		for (String cursor : List.of(notBase64, wrongShape, badDate)) {
+			assertThatThrownBy(() -> examService.getExamPage(cursor, 2, null, null, null, true))
+					.isInstanceOf(BadRequestException.class)
+					.hasMessage("Invalid cursor");
+		}
+	}
+
+	private void persistExam(User owner, String subject, LocalDateTime start) {
+		Exam exam = new Exam(subject, start, "Hall A", owner);
+		exam.setDurationMinutes(60);
+		entityManager.persist(exam);
+		examIds.add(exam.getId());
+	}
+}
@@ -0,0 +1,111 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.UpdateExamRequest;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// locks in what an update costs end to end: a fixed number of statements, however large the schedule
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ExamServiceStatementCountTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 10, 9, 0);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ExamService examService;
+
+	private Statistics statistics;
+	private Long examId;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("counted-owner@example.com");
+		owner.setPassword("hash");
+		entityManager.persist(owner);
+		// a large schedule, one exam a day, which the update must not read
+		for (int day = 0; day < 500; day++) {
+			Exam exam = new Exam("Algebra " + day, NINE.plusDays(day), "Hall A", owner);
+			exam.setDurationMinutes(60);
+			entityManager.persist(exam);
+			if (day == 0) {
+				examId = exam.getId();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(owner.getId(), owner.getUsername(), "hash", List.of()), null, List.of()));
+
+		// creates the user's version row, which only the first write pays for
+		examService.updateExam(examId, new UpdateExamRequest("Geometry", NINE, "Hall A"));
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void updateKeepingTheDurationIsSevenStatements() {
+		examService.updateExam(examId, new UpdateExamRequest("Geometry", NINE.plusHours(2), "Hall A"));
+
+		// current slot, user lock, location lock, user range, location range, update, version
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+	}
+
+	@Test
+	void updateWithADurationSkipsReadingTheCurrentSlot() {
+		UpdateExamRequest request = new UpdateExamRequest("Geometry", NINE.plusHours(2), "Hall A");
+		request.setDurationMinutes(90);
+
+		examService.updateExam(examId, request);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+	}
+
+	@Test
+	void updateOntoAnotherExamIsRefusedWithoutAWarmIndex() {
+		// the next day's exam, never loaded into the conflict indexes
+		UpdateExamRequest request = new UpdateExamRequest("Geometry", NINE.plusDays(1).plusMinutes(30), "Hall B");
+
+		assertThatThrownBy(() -> examService.updateExam(examId, request))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+	}
+
+	@Test
+	void updateOfAMissingExamIsNotFound() {
+		assertThatThrownBy(() -> examService.updateExam(-1L, new UpdateExamRequest("Geometry", NINE, "Hall A")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+	}
+}
@@ -0,0 +1,77 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamLoad;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the range straddles new year: 2041-12-29 is a sunday in 2041-W52, the next day starts 2042-W01
+@SpringBootTest
+@Transactional
+class ExamStatsServiceTests {
+
+	private static final LocalDate FROM = LocalDate.of(2041, 12, 29);
+	private static final LocalDate TO = LocalDate.of(2042, 1, 5);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ExamStatsService statsService;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("stats-owner@example.com");
+		owner.setPassword("hash");
+		entityManager.persist(owner);
+		persistExam(owner, LocalDateTime.of(2041, 12, 29, 9, 0), "Hall A", 90);
+		// stored before durations existed, counts with the default length
+		persistExam(owner, LocalDateTime.of(2041, 12, 30, 9, 0), " hall a", null);
+		persistExam(owner, LocalDateTime.of(2041, 12, 31, 14, 0), "Hall B", 120);
+		persistExam(owner, LocalDateTime.of(2042, 1, 1, 9, 0), "Hall A", 30);
+		// the day after the range
+		persistExam(owner, LocalDateTime.of(2042, 1, 6, 9, 0), "Hall B", 60);
+		entityManager.flush();
+	}
+
+	@Test
+	void countsEachDayOfTheRange() {
+		assertThat(statsService.examLoad(FROM, TO, "day").getBuckets()).containsExactly(
+				new ExamLoad("2041-12-29", 1L, 90L),
+				new ExamLoad("2041-12-30", 1L, (long) Exam.DEFAULT_DURATION_MINUTES),
+				new ExamLoad("2041-12-31", 1L, 120L),
+				new ExamLoad("2042-01-01", 1L, 30L));
+	}
+
+	@Test
+	void rollsDaysUpIntoIsoWeeksAcrossTheYearBoundary() {
+		assertThat(statsService.examLoad(FROM, TO, "week").getBuckets()).containsExactly(
+				new ExamLoad("2041-W52", 1L, 90L),
+				new ExamLoad("2042-W01", 3L, 210L));
+	}
+
+	@Test
+	void groupsNormalizedLocationsBusiestFirst() {
+		assertThat(statsService.examLoad(FROM, TO, "location").getBuckets()).containsExactly(
+				new ExamLoad("hall a", 3L, 180L),
+				new ExamLoad("hall b", 1L, 120L));
+	}
+
+	private void persistExam(User owner, LocalDateTime start, String location, Integer durationMinutes) {
+		Exam exam = new Exam("Statistics", start, location, owner);
+		exam.setDurationMinutes(durationMinutes);
+		entityManager.persist(exam);
+	}
+}
@@ -0,0 +1,61 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamListVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ExamVersionTracker.class)
+class ExamVersionTrackerTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ExamVersionTracker tracker;
+
+	@Autowired
+	private ExamListVersionRepository versionRepository;
+
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		User user = new User();
+		user.setUsername("owner@example.com");
+		user.setPassword("hash");
+		userId = entityManager.persistAndFlush(user).getId();
+	}
+
+	@Test
+	void startsAtZeroAndCountsEveryChange() {
+		assertThat(tracker.current(userId).version()).isZero();
+
+		tracker.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.ADDED, userId, 1L));
+		tracker.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.DELETED, userId, 1L));
+		entityManager.clear();
+
+		ExamVersionTracker.Stamp stamp = tracker.current(userId);
+		assertThat(stamp.version()).isEqualTo(2);
+		assertThat(stamp.etag()).isEqualTo(userId + "-2");
+	}
+
+	@Test
+	void versionIsSharedThroughTheDatabase() {
+		// another instance of the application has only the database in common with this one
+		ExamVersionTracker otherInstance = new ExamVersionTracker(versionRepository);
+		String before = otherInstance.current(userId).etag();
+
+		tracker.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.UPDATED, userId, 1L));
+		entityManager.clear();
+
+		assertThat(otherInstance.current(userId).etag()).isNotEqualTo(before);
+	}
+}
@@ -0,0 +1,91 @@
+package com.examscheduler.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexCacheTests {
+
+	private final IndexCache<String, List<String>> cache = new IndexCache<>(2);
+	private final AtomicInteger builds = new AtomicInteger();
+
+	@Test
+	void keepsABuildAndAppliesLaterChangesToIt() {
+		cache.get("a", () -> build("a1"));
+		cache.changed("a", index -> index.add("a2"));
+
+		assertThat(cache.get("a", () -> build("unused"))).containsExactly("a1", "a2");
+		assertThat(builds).hasValue(1);
+	}
+
+	@Test
+	void buildOverlappingAChangeIsUsedOnceButNotKept() {
+		List<String> built = cache.get("a", () -> {
+			// committed after the snapshot was read, while the index had not been installed yet
+			cache.changed("a", index -> index.add("a2"));
+			return build("a1");
+		});
+
+		assertThat(built).containsExactly("a1");
+		assertThat(cache.getIfLoaded("a")).isNull();
+		assertThat(cache.get("a", () -> build("a1", "a2"))).containsExactly("a1", "a2");
+	}
+
+	@Test
+	void changeRecordedBeforeTheIndexIsLoadedDiscardsTheBuild() {
+		List<String> built = cache.get("a", () -> {
+			// the listener found no index and skipped the change, a stale build must not stay
+			assertThat(cache.recordChange("a")).isFalse();
+			return build("a1");
+		});
+
+		assertThat(built).containsExactly("a1");
+		assertThat(cache.getIfLoaded("a")).isNull();
+		cache.get("a", () -> build("a1", "a2"));
+		assertThat(cache.recordChange("a")).isTrue();
+	}
+
+	@Test
+	void changeWithoutAKeyDiscardsEveryBuildInProgress() {
+		cache.get("a", () -> {
+			cache.changedAnywhere(index -> index.clear());
+			return build("a1");
+		});
+
+		assertThat(cache.getIfLoaded("a")).isNull();
+	}
+
+	@Test
+	void dropsTheLeastRecentlyUsedIndexWhenFull() throws InterruptedException {
+		cache.get("a", () -> build("a1"));
+		Thread.sleep(1);
+		cache.get("b", () -> build("b1"));
+		Thread.sleep(1);
+		cache.get("a", () -> build("unused"));
+		Thread.sleep(1);
+		cache.get("c", () -> build("c1"));
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getIfLoaded("a")).isNotNull();
+		assertThat(cache.getIfLoaded("b")).isNull();
+		assertThat(cache.getIfLoaded("c")).isNotNull();
+	}
+
+	@Test
+	void invalidatedIndexIsRebuilt() {
+		cache.get("a", () -> build("a1"));
+		cache.invalidate("a");
+
+		assertThat(cache.get("a", () -> build("a2"))).containsExactly("a2");
+		assertThat(builds).hasValue(2);
+	}
+
+	private List<String> build(String... values) {
+		builds.incrementAndGet();
+		return new ArrayList<>(List.of(values));
+	}
+}
@@ -0,0 +1,91 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.ExamSummary;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class NextExamCacheTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 1, 8, 0);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private NextExamCache cache;
+
+	private User owner;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		owner = new User();
+		owner.setUsername("next-owner@example.com");
+		owner.setPassword("hash");
+		entityManager.persist(owner);
+		persistExam("Algebra", NOW.plusHours(1));
+		persistExam("Geometry", NOW.plusDays(1));
+		entityManager.flush();
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void secondCallIsAnsweredWithoutAQuery() {
+		assertThat(cache.next(owner.getId(), NOW)).map(ExamSummary::subject).hasValue("Algebra");
+		statistics.clear();
+
+		assertThat(cache.next(owner.getId(), NOW.plusMinutes(1))).map(ExamSummary::subject).hasValue("Algebra");
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void committedChangeDropsTheEntry() {
+		cache.next(owner.getId(), NOW);
+		persistExam("Calculus", NOW.plusMinutes(30));
+		entityManager.flush();
+
+		cache.onExamChanged(new ExamChangedEvent(ExamChangedEvent.Type.ADDED, owner.getId(), null));
+
+		assertThat(cache.next(owner.getId(), NOW)).map(ExamSummary::subject).hasValue("Calculus");
+	}
+
+	@Test
+	void entryExpiresOnceTheCachedExamHasStarted() {
+		cache.next(owner.getId(), NOW);
+
+		assertThat(cache.next(owner.getId(), NOW.plusHours(2))).map(ExamSummary::subject).hasValue("Geometry");
+	}
+
+	@Test
+	void entryExpiresAfterTheTtlEvenWithoutAChangeSeenHere() {
+		cache.next(owner.getId(), NOW.plusHours(2));
+		// stored through another instance, no event reaches this one
+		persistExam("Calculus", NOW.plusHours(3));
+		entityManager.flush();
+
+		assertThat(cache.next(owner.getId(), NOW.plusHours(2).plusMinutes(5))).map(ExamSummary::subject)
+				.hasValue("Calculus");
+	}
+
+	private void persistExam(String subject, LocalDateTime start) {
+		Exam exam = new Exam(subject, start, "Hall A", owner);
+		exam.setDurationMinutes(60);
+		entityManager.persist(exam);
+	}
+}
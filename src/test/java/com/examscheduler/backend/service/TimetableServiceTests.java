@@ -0,0 +1,111 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.TimetableRequest;
+import com.examscheduler.backend.dto.TimetableRequest.Room;
+import com.examscheduler.backend.dto.TimetableRequest.UnscheduledExam;
+import com.examscheduler.backend.dto.TimetableResponse;
+import com.examscheduler.backend.entity.Exam;
+import com.examscheduler.backend.entity.User;
+import com.examscheduler.backend.repository.ExamRepository;
+import com.examscheduler.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TimetableServiceTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2030, 6, 3, 9, 0);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private TimetableService timetableService;
+
+	@Autowired
+	private ExamRepository examRepository;
+
+	private User registrar;
+
+	@BeforeEach
+	void setUp() {
+		registrar = user("timetable-registrar@example.com");
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(registrar.getId(), registrar.getUsername(), "hash", List.of()), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void savesEveryParallelSitting() {
+		TimetableRequest request = request(
+				List.of(exam("Physics", "year-1"), exam("Chemistry", "year-2"), exam("Biology", "year-3")),
+				List.of(new Room("Hall A", 50), new Room("Hall B", 50), new Room("Hall C", 50)));
+
+		TimetableResponse response = timetableService.solve(request);
+
+		assertThat(response.getAssignments()).hasSize(3)
+				.allSatisfy(assignment -> assertThat(assignment.start()).isEqualTo(NINE));
+		assertThat(response.getSaved().getErrors()).isEmpty();
+		assertThat(response.getSaved().getImported()).isEqualTo(3);
+		assertThat(examRepository.findSlotsByUserId(registrar.getId())).hasSize(3);
+	}
+
+	@Test
+	void roomBookedByAnotherUserIsNotUsed() {
+		User other = user("timetable-other@example.com");
+		Exam booked = new Exam("History", NINE.minusMinutes(30), "Hall A", other);
+		booked.setDurationMinutes(60);
+		entityManager.persist(booked);
+		entityManager.flush();
+
+		// the smaller room fits too, but is taken until half past nine
+		TimetableRequest request = request(List.of(exam("Physics", "year-1")),
+				List.of(new Room("Hall A", 20), new Room("Hall B", 50)));
+
+		TimetableResponse response = timetableService.solve(request);
+
+		assertThat(response.getAssignments()).singleElement()
+				.satisfies(assignment -> assertThat(assignment.location()).isEqualTo("Hall B"));
+		assertThat(response.getSaved().getImported()).isEqualTo(1);
+	}
+
+	private User user(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		entityManager.persist(user);
+		entityManager.flush();
+		return user;
+	}
+
+	private static UnscheduledExam exam(String subject, String cohort) {
+		return new UnscheduledExam(subject, 60, 10, List.of(cohort));
+	}
+
+	private static TimetableRequest request(List<UnscheduledExam> exams, List<Room> rooms) {
+		TimetableRequest request = new TimetableRequest();
+		request.setExams(exams);
+		request.setRooms(rooms);
+		request.setSlots(List.of(NINE));
+		request.setSave(true);
+		return request;
+	}
+}
@@ -0,0 +1,65 @@
+package com.examscheduler.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableSolverTests {
+
+	@Test
+	void examsSharingACohortNeverOverlap() {
+		// four one-hour exams in one cohort, plenty of rooms, slots every half hour
+		TimetableSolver.Problem problem = new TimetableSolver.Problem(
+				new int[]{60, 60, 60, 60},
+				new int[]{10, 10, 10, 10},
+				new int[][]{{0}, {0}, {0}, {0}},
+				1,
+				new int[]{20, 20, 20, 20},
+				new long[4][0],
+				new long[]{0, 30, 60, 90, 120, 150, 180, 210});
+
+		TimetableSolver.Solution solution = TimetableSolver.attempt(problem, 0);
+
+		assertThat(solution.unplaced()).isZero();
+		long[] starts = Arrays.stream(solution.slot()).mapToLong(s -> problem.slotStarts()[s]).sorted().toArray();
+		for (int i = 1; i < starts.length; i++) {
+			assertThat(starts[i] - starts[i - 1]).isGreaterThanOrEqualTo(60);
+		}
+	}
+
+	@Test
+	void examsInDifferentCohortsShareASlot() {
+		TimetableSolver.Problem problem = new TimetableSolver.Problem(
+				new int[]{60, 60},
+				new int[]{10, 10},
+				new int[][]{{0}, {1}},
+				2,
+				new int[]{20, 20},
+				new long[2][0],
+				new long[]{0});
+
+		TimetableSolver.Solution solution = TimetableSolver.attempt(problem, 0);
+
+		assertThat(solution.slot()).containsExactly(0, 0);
+		assertThat(solution.room()).containsExactlyInAnyOrder(0, 1);
+	}
+
+	@Test
+	void roomsAlreadyBookedAreLeftAlone() {
+		// the smaller room is taken from 30 minutes before the only slot until half an hour into it
+		TimetableSolver.Problem problem = new TimetableSolver.Problem(
+				new int[]{60},
+				new int[]{10},
+				new int[][]{{}},
+				0,
+				new int[]{20, 40},
+				new long[][]{{-30, 30}, {}},
+				new long[]{0});
+
+		TimetableSolver.Solution solution = TimetableSolver.attempt(problem, 0);
+
+		assertThat(solution.room()).containsExactly(1);
+	}
+}
@@ -0,0 +1,64 @@
+package com.examscheduler.backend.service;
+
+import com.examscheduler.backend.dto.SignupRequest;
+import com.examscheduler.backend.exception.BadRequestException;
+import com.examscheduler.backend.repository.UserRepository;
+import com.examscheduler.backend.security.PasswordHasher;
+import com.examscheduler.backend.security.PrincipalCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({UserService.class, PasswordHasher.class, PrincipalCache.class, UserServiceTests.Encoder.class})
+class UserServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void storesTheUsernameTrimmedAndLowercased() {
+		userService.registerUser(new SignupRequest("  Foo@Example.com ", "secret"));
+
+		assertThat(userRepository.findByUsername("foo@example.com")).isPresent();
+	}
+
+	@Test
+	void rejectsUsernameDifferingOnlyInCase() {
+		userService.registerUser(new SignupRequest("foo@example.com", "secret"));
+
+		assertThatThrownBy(() -> userService.registerUser(new SignupRequest("FOO@example.com", "other")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+	}
+
+	@Test
+	void rejectsOverlongUsernameAsBadRequest() {
+		String username = "a".repeat(250) + "@example.com";
+
+		assertThatThrownBy(() -> userService.registerUser(new SignupRequest(username, "secret")))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	@TestConfiguration
+	static class Encoder {
+
+		@Bean
+		PasswordEncoder passwordEncoder() {
+			return new BCryptPasswordEncoder(4);
+		}
+	}
+}